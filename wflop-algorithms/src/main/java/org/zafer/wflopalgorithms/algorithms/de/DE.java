@@ -1,7 +1,6 @@
 package org.zafer.wflopalgorithms.algorithms.de;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -12,13 +11,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.zafer.wflopalgorithms.algorithms.de.solution.DEIndividual;
 import org.zafer.wflopalgorithms.common.AbstractMetaheuristic;
 import org.zafer.wflopalgorithms.common.Helper;
-import org.zafer.wflopcore.power.PowerCalculator;
-import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
-import org.zafer.wflopcore.wake.WakeOptimization;
 import org.zafer.wflopmetaheuristic.Solution;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionConfig;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionFactory;
-import org.zafer.wflopmodel.layout.TurbineLayout;
 
 public class DE extends AbstractMetaheuristic {
 
@@ -44,15 +39,6 @@ public class DE extends AbstractMetaheuristic {
         this.CR = CR;
     }
 
-    @Override
-    protected PowerCalculator createPowerCalculator() {
-        return new PowerCalculator(
-            getProblem(),
-            new DefaultWakeModelProvider(),
-            WakeOptimization.NONE
-        );
-    }
-
     @Override
     protected void init() {
         initializePopulation();
@@ -64,6 +50,7 @@ public class DE extends AbstractMetaheuristic {
     @Override
     protected void step() {
         List<DEIndividual> nextPopulation = new ArrayList<>();
+        List<double[]> trials = new ArrayList<>();
 
         for (int i = 0; i < this.populationSize; i++) {
 
@@ -73,12 +60,18 @@ public class DE extends AbstractMetaheuristic {
             double[] trial = crossover(target.getVector(), mutant);
 
             enforceBounds(trial);
+            trials.add(trial);
+        }
 
-            double trialFitness = evaluate(trial);
+        double[] trialFitness = evaluate(trials);
 
-            if (trialFitness > target.getFitness()) {
+        for (int i = 0; i < this.populationSize; i++) {
+            DEIndividual target = this.population.get(i);
+            double[] trial = trials.get(i);
+
+            if (trialFitness[i] > target.getFitness()) {
                 DEIndividual offspring = new DEIndividual(trial, getProblem().getCellCount());
-                offspring.setFitness(trialFitness);
+                offspring.setFitness(trialFitness[i]);
                 nextPopulation.add(offspring);
             } else {
                 nextPopulation.add(target);
@@ -146,13 +139,15 @@ public class DE extends AbstractMetaheuristic {
         return trial;
     }
 
-    private double evaluate(double[] vector) {
-        int[] layout = Helper.discretize(vector, getProblem().getCellCount());
-        List<Integer> list = Arrays.stream(layout)
-            .boxed()
-            .toList();
-        TurbineLayout tl = new TurbineLayout(new ArrayList<>(list));
-        return getPowerCalculator().calculateTotalPower(tl);
+    private double[] evaluate(List<double[]> vectors) {
+        int[][] layouts = new int[vectors.size()][];
+        for (int i = 0; i < layouts.length; i++) {
+            layouts[i] = Helper.discretize(vectors.get(i), getProblem().getCellCount());
+        }
+
+        double[] fitness = new double[layouts.length];
+        getPowerCalculator().evaluateBatch(layouts, fitness);
+        return fitness;
     }
 
     private void enforceBounds(double[] vector) {
@@ -166,8 +161,14 @@ public class DE extends AbstractMetaheuristic {
     }
 
     private void evaluatePopulation() {
+        List<double[]> vectors = new ArrayList<>();
         for (DEIndividual ind : this.population) {
-            ind.setFitness(evaluate(ind.getVector()));
+            vectors.add(ind.getVector());
+        }
+
+        double[] fitness = evaluate(vectors);
+        for (int i = 0; i < fitness.length; i++) {
+            this.population.get(i).setFitness(fitness[i]);
         }
     }
 
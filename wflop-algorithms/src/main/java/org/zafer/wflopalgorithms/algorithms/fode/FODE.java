@@ -8,9 +8,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.zafer.wflopalgorithms.algorithms.fode.solution.FODEIndividual;
 import org.zafer.wflopalgorithms.common.AbstractMetaheuristic;
 import org.zafer.wflopalgorithms.common.Helper;
-import org.zafer.wflopcore.power.PowerCalculator;
-import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
-import org.zafer.wflopcore.wake.WakeOptimization;
 import org.zafer.wflopmetaheuristic.ProgressEvent;
 import org.zafer.wflopmetaheuristic.listener.ProgressListener;
 import org.zafer.wflopmetaheuristic.Metaheuristic;
@@ -19,7 +16,6 @@ import org.zafer.wflopmetaheuristic.termination.TerminationCondition;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionConfig;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionFactory;
 import org.zafer.wflopmetaheuristic.termination.TerminationProgress;
-import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.problem.WFLOP;
 
 /**
@@ -64,15 +60,6 @@ public class FODE extends AbstractMetaheuristic {
         Arrays.fill(this.MCR, 0.5);
     }
 
-    @Override
-    protected PowerCalculator createPowerCalculator() {
-        return new PowerCalculator(
-            getProblem(),
-            new DefaultWakeModelProvider(),
-            WakeOptimization.NONE
-        );
-    }
-
     @Override
     protected void init() {
         initializePopulation();
@@ -90,21 +77,29 @@ public class FODE extends AbstractMetaheuristic {
         List<Double> successfulCR = new ArrayList<>();
         List<Double> fitnessGains = new ArrayList<>();
 
+        List<double[]> trials = new ArrayList<>();
         for (FODEIndividual xi : this.population) {
             sampleParameters(xi);
             double[] trial = generateFractionalTrial(xi);
 
             enforceBounds(trial);
-            double trialFitness = evaluate(trial);
+            trials.add(trial);
+        }
+
+        double[] trialFitness = evaluate(trials);
 
-            if (trialFitness > xi.getFitness()) {
+        for (int i = 0; i < this.population.size(); i++) {
+            FODEIndividual xi = this.population.get(i);
+            double[] trial = trials.get(i);
+
+            if (trialFitness[i] > xi.getFitness()) {
                 FODEIndividual child = new FODEIndividual(trial, getProblem().getCellCount());
-                child.setFitness(trialFitness);
+                child.setFitness(trialFitness[i]);
                 nextPop.add(child);
 
                 successfulF.add(xi.getF());
                 successfulCR.add(xi.getCR());
-                fitnessGains.add(trialFitness - xi.getFitness());
+                fitnessGains.add(trialFitness[i] - xi.getFitness());
             } else {
                 nextPop.add(xi);
             }
@@ -245,13 +240,15 @@ public class FODE extends AbstractMetaheuristic {
         ind.setCR(CR);
     }
 
-    private double evaluate(double[] vector) {
-        int[] layout = Helper.discretize(vector, getProblem().getCellCount());
-        List<Integer> list = Arrays.stream(layout)
-            .boxed()
-            .toList();
-        TurbineLayout tl = new TurbineLayout(new ArrayList<>(list));
-        return getPowerCalculator().calculateTotalPower(tl);
+    private double[] evaluate(List<double[]> vectors) {
+        int[][] layouts = new int[vectors.size()][];
+        for (int i = 0; i < layouts.length; i++) {
+            layouts[i] = Helper.discretize(vectors.get(i), getProblem().getCellCount());
+        }
+
+        double[] fitness = new double[layouts.length];
+        getPowerCalculator().evaluateBatch(layouts, fitness);
+        return fitness;
     }
 
     private void updateMemories(
@@ -306,8 +303,14 @@ public class FODE extends AbstractMetaheuristic {
     }
 
     private void evaluatePopulation() {
+        List<double[]> vectors = new ArrayList<>();
         for (FODEIndividual ind : this.population) {
-            ind.setFitness(evaluate(ind.getVector()));
+            vectors.add(ind.getVector());
+        }
+
+        double[] fitness = evaluate(vectors);
+        for (int i = 0; i < fitness.length; i++) {
+            this.population.get(i).setFitness(fitness[i]);
         }
     }
 
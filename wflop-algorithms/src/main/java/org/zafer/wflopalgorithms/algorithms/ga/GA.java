@@ -19,9 +19,6 @@ import org.zafer.wflopalgorithms.common.ga.strategy.SelectionStrategy;
 import org.zafer.wflopalgorithms.common.ga.strategy.SinglePointCrossover;
 import org.zafer.wflopalgorithms.common.ga.strategy.SwapMutation;
 import org.zafer.wflopalgorithms.common.ga.strategy.TournamentSelection;
-import org.zafer.wflopcore.power.PowerCalculator;
-import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
-import org.zafer.wflopcore.wake.WakeOptimization;
 import org.zafer.wflopmetaheuristic.Solution;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionConfig;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionFactory;
@@ -64,15 +61,6 @@ public class GA extends AbstractMetaheuristic {
         this.mutationStrategy = mutationStrategy != null ? mutationStrategy : "randomreplacement";
     }
 
-    @Override
-    protected PowerCalculator createPowerCalculator() {
-        return new PowerCalculator(
-            getProblem(),
-            new DefaultWakeModelProvider(),
-            WakeOptimization.NONE
-        );
-    }
-
     @Override
     protected void init() {
         this.selectionStrategyImpl = createSelectionStrategy();
@@ -80,7 +68,7 @@ public class GA extends AbstractMetaheuristic {
         this.mutationStrategyImpl = createMutationStrategy();
 
         initializePopulation();
-        evaluatePopulation();
+        evaluatePopulation(this.population);
 
         this.bestIndividual = Collections.max(population, Comparator.comparingDouble(Individual::getFitness));
     }
@@ -96,18 +84,17 @@ public class GA extends AbstractMetaheuristic {
             if (getRandom().nextDouble() < this.crossoverRate) {
                 child = this.crossoverStrategyImpl.crossover(parent1, parent2, getProblem());
             } else {
-                child = new Individual(parent1.getList());
+                child = new Individual(parent1.copyGenes());
             }
 
             if (getRandom().nextDouble() < this.mutationRate) {
                 child = this.mutationStrategyImpl.mutate(child, getProblem());
             }
 
-            double fitness = computeFitness(child);
-            child.setFitness(fitness);
             newPopulation.add(child);
         }
 
+        evaluatePopulation(newPopulation);
         this.population = newPopulation;
 
         Individual currentBest =
@@ -138,16 +125,18 @@ public class GA extends AbstractMetaheuristic {
         }
     }
 
-    private void evaluatePopulation() {
-        for (Individual individual : this.population) {
-            double fitness = computeFitness(individual);
-            individual.setFitness(fitness);
+    private void evaluatePopulation(List<Individual> individuals) {
+        List<TurbineLayout> layouts = new ArrayList<>(individuals.size());
+        for (Individual individual : individuals) {
+            layouts.add(individual.getLayout());
         }
-    }
 
-    private double computeFitness(Individual individual) {
-        TurbineLayout layout = new TurbineLayout(individual.getList());
-        return getPowerCalculator().calculateTotalPower(layout);
+        double[] fitness = new double[layouts.size()];
+        getPowerCalculator().evaluateBatch(layouts, fitness);
+
+        for (int i = 0; i < fitness.length; i++) {
+            individuals.get(i).setFitness(fitness[i]);
+        }
     }
 
     private SelectionStrategy createSelectionStrategy() {
@@ -12,13 +12,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.zafer.wflopalgorithms.algorithms.lshade.solution.LSHADEIndividual;
 import org.zafer.wflopalgorithms.common.AbstractMetaheuristic;
 import org.zafer.wflopalgorithms.common.Helper;
-import org.zafer.wflopcore.power.PowerCalculator;
-import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
-import org.zafer.wflopcore.wake.WakeOptimization;
 import org.zafer.wflopmetaheuristic.Solution;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionConfig;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionFactory;
-import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.problem.WFLOP;
 
 public class LSHADE extends AbstractMetaheuristic {
@@ -50,15 +46,6 @@ public class LSHADE extends AbstractMetaheuristic {
         Arrays.fill(this.MCR, 0.5);
     }
 
-    @Override
-    protected PowerCalculator createPowerCalculator() {
-        return new PowerCalculator(
-            getProblem(),
-            new DefaultWakeModelProvider(),
-            WakeOptimization.NONE
-        );
-    }
-
     @Override
     protected void init() {
         initializePopulation();
@@ -76,23 +63,29 @@ public class LSHADE extends AbstractMetaheuristic {
         List<Double> successfulCR = new ArrayList<>();
         List<Double> fitnessGains = new ArrayList<>();
 
-        for (int i = 0; i < population.size(); i++) {
-            LSHADEIndividual xi = population.get(i);
+        List<double[]> trials = new ArrayList<>();
+        for (LSHADEIndividual xi : population) {
             sampleParameters(xi);
 
             double[] trial = generateTrial(population, xi);
             enforceBounds(trial, getProblem().getCellCount());
+            trials.add(trial);
+        }
 
-            double trialFitness = evaluate(trial);
+        double[] trialFitness = evaluate(trials);
 
-            if (trialFitness > xi.getFitness()) {
+        for (int i = 0; i < population.size(); i++) {
+            LSHADEIndividual xi = population.get(i);
+            double[] trial = trials.get(i);
+
+            if (trialFitness[i] > xi.getFitness()) {
                 LSHADEIndividual child = new LSHADEIndividual(trial, getProblem().getCellCount());
-                child.setFitness(trialFitness);
+                child.setFitness(trialFitness[i]);
                 nextPop.add(child);
 
                 successfulF.add(xi.getF());
                 successfulCR.add(xi.getCR());
-                fitnessGains.add(trialFitness - xi.getFitness());
+                fitnessGains.add(trialFitness[i] - xi.getFitness());
             } else {
                 nextPop.add(xi);
             }
@@ -179,13 +172,15 @@ public class LSHADE extends AbstractMetaheuristic {
         return trial;
     }
 
-    private double evaluate(double[] vector) {
-        int[] layout = Helper.discretize(vector, getProblem().getCellCount());
-        List<Integer> list = Arrays.stream(layout)
-            .boxed()
-            .toList();
-        TurbineLayout tl = new TurbineLayout(new ArrayList<>(list));
-        return getPowerCalculator().calculateTotalPower(tl);
+    private double[] evaluate(List<double[]> vectors) {
+        int[][] layouts = new int[vectors.size()][];
+        for (int i = 0; i < layouts.length; i++) {
+            layouts[i] = Helper.discretize(vectors.get(i), getProblem().getCellCount());
+        }
+
+        double[] fitness = new double[layouts.length];
+        getPowerCalculator().evaluateBatch(layouts, fitness);
+        return fitness;
     }
 
     private void updateMemories(
@@ -243,8 +238,14 @@ public class LSHADE extends AbstractMetaheuristic {
     }
 
     private void evaluatePopulation() {
+        List<double[]> vectors = new ArrayList<>();
         for (LSHADEIndividual ind : this.population) {
-            ind.setFitness(evaluate(ind.getVector()));
+            vectors.add(ind.getVector());
+        }
+
+        double[] fitness = evaluate(vectors);
+        for (int i = 0; i < fitness.length; i++) {
+            this.population.get(i).setFitness(fitness[i]);
         }
     }
 
@@ -7,6 +7,7 @@ import java.util.List;
 
 import org.zafer.wflopalgorithms.common.Helper;
 import org.zafer.wflopmetaheuristic.Solution;
+import org.zafer.wflopmodel.layout.TurbineLayout;
 
 public class LSHADEIndividual implements Solution {
 
@@ -32,6 +33,11 @@ public class LSHADEIndividual implements Solution {
             .toList();
     }
 
+    @Override
+    public TurbineLayout getLayout() {
+        return new TurbineLayout(Helper.discretize(vector, cellCount));
+    }
+
     public double[] getVector() { return vector; }
     public void setVector(double[] vector) { this.vector = vector; }
 
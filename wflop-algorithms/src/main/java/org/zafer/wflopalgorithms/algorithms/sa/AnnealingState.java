@@ -4,17 +4,41 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
 import org.zafer.wflopmetaheuristic.Solution;
+import org.zafer.wflopmodel.layout.TurbineLayout;
 
 public class AnnealingState implements Solution {
 
-    private final List<Integer> layout;
+    // Kept in move order: position i is the turbine a move at i relocates
+    private final int[] cells;
     private double fitness;
+    private TurbineLayout layout;
 
-    public AnnealingState(List<Integer> layout) {
-        this.layout = layout;
+    public AnnealingState(int[] cells) {
+        this.cells = cells;
     }
 
-    public List<Integer> getLayout() {
+    public int size() {
+        return cells.length;
+    }
+
+    public int getCell(int position) {
+        return cells[position];
+    }
+
+    /**
+     * Returns a state with the turbine at {@code position} moved to {@code cell}.
+     */
+    public AnnealingState withCell(int position, int cell) {
+        int[] moved = cells.clone();
+        moved[position] = cell;
+        return new AnnealingState(moved);
+    }
+
+    @Override
+    public TurbineLayout getLayout() {
+        if (layout == null) {
+            layout = new TurbineLayout(cells);
+        }
         return layout;
     }
 
@@ -31,6 +55,6 @@ public class AnnealingState implements Solution {
 
     @Override
     public List<Integer> getList() {
-        return layout;
+        return getLayout().getTurbineIndices();
     }
 }
@@ -1,19 +1,13 @@
 package org.zafer.wflopalgorithms.algorithms.sa;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
 import java.util.Random;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import org.zafer.wflopalgorithms.common.AbstractMetaheuristic;
+import org.zafer.wflopcore.power.IncrementalPowerState;
 import org.zafer.wflopcore.power.PowerCalculator;
-import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
-import org.zafer.wflopcore.wake.WakeOptimization;
 import org.zafer.wflopmetaheuristic.listener.ProgressListener;
 import org.zafer.wflopmetaheuristic.Metaheuristic;
 import org.zafer.wflopmetaheuristic.ProgressEvent;
@@ -22,7 +16,6 @@ import org.zafer.wflopmetaheuristic.termination.TerminationCondition;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionConfig;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionFactory;
 import org.zafer.wflopmetaheuristic.termination.TerminationProgress;
-import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.problem.WFLOP;
 
 public class SA extends AbstractMetaheuristic {
@@ -34,6 +27,7 @@ public class SA extends AbstractMetaheuristic {
     private double temperature;
     private AnnealingState currentSolution;
     private AnnealingState bestSolution;
+    private IncrementalPowerState powerState;
 
     @JsonCreator
     public SA(
@@ -50,30 +44,33 @@ public class SA extends AbstractMetaheuristic {
         this.innerIterations = innerIterations;
     }
 
-    @Override
-    protected PowerCalculator createPowerCalculator() {
-        return new PowerCalculator(
-            getProblem(),
-            new DefaultWakeModelProvider(),
-            WakeOptimization.NONE
-        );
-    }
-
     @Override
     protected void init() {
         this.currentSolution = randomInitialState();
         this.bestSolution = this.currentSolution;
+        this.powerState = getPowerCalculator().createIncrementalState(this.currentSolution.getLayout());
         this.temperature = this.initialTemperature;
     }
 
     @Override
     protected void step() {
         for (int i = 0; i < this.innerIterations; i++) {
-            AnnealingState neighbor = generateNeighbor();
-            double delta = neighbor.getFitness() - this.currentSolution.getFitness();
+            int pos = getRandom().nextInt(this.currentSolution.size());
+            int from = this.currentSolution.getCell(pos);
+            int to = randomFreeCell();
+            if (to < 0) {
+                // Every cell holds a turbine, so the layout has no neighbours
+                break;
+            }
+
+            double neighborFitness = this.powerState.move(from, to);
+            double delta = neighborFitness - this.currentSolution.getFitness();
 
             if (delta > 0 || getRandom().nextDouble() < acceptanceProbability(delta, this.temperature)) {
-                this.currentSolution = neighbor;
+                this.powerState.commit();
+                this.currentSolution = createNeighbor(pos, to, neighborFitness);
+            } else {
+                this.powerState.rollback();
             }
 
             if (this.currentSolution.getFitness() > this.bestSolution.getFitness()) {
@@ -93,39 +90,45 @@ public class SA extends AbstractMetaheuristic {
         int cells = getProblem().getCellCount();
         int turbines = getProblem().getNumberOfTurbines();
 
-        Set<Integer> indices = new LinkedHashSet<>();
-        while (indices.size() < turbines) {
-            indices.add(getRandom().nextInt(cells));
+        int[] indices = new int[turbines];
+        boolean[] taken = new boolean[cells];
+        int size = 0;
+        while (size < turbines) {
+            int cell = getRandom().nextInt(cells);
+            if (!taken[cell]) {
+                taken[cell] = true;
+                indices[size++] = cell;
+            }
         }
 
-        AnnealingState state = new AnnealingState(new ArrayList<>(indices));
+        AnnealingState state = new AnnealingState(indices);
 
         evaluate(state);
         return state;
     }
 
-    private AnnealingState generateNeighbor() {
-        List<Integer> newLayout = new ArrayList<>(this.currentSolution.getLayout());
+    // A uniformly drawn empty cell, or -1 when the grid is full
+    private int randomFreeCell() {
         int cells = getProblem().getCellCount();
-        int pos = getRandom().nextInt(newLayout.size());
-        int newCell = getRandom().nextInt(cells);
-        newLayout.set(pos, newCell);
-
-        // repair duplicates
-        Set<Integer> unique = new LinkedHashSet<>(newLayout);
-        while (unique.size() < newLayout.size()) {
-            unique.add(getRandom().nextInt(cells));
+        if (this.powerState.size() >= cells) {
+            return -1;
         }
 
-        AnnealingState neighbor = new AnnealingState(new ArrayList<>(unique));
+        int cell = getRandom().nextInt(cells);
+        while (this.powerState.contains(cell)) {
+            cell = getRandom().nextInt(cells);
+        }
+        return cell;
+    }
 
-        evaluate(neighbor);
+    private AnnealingState createNeighbor(int pos, int cell, double fitness) {
+        AnnealingState neighbor = this.currentSolution.withCell(pos, cell);
+        neighbor.setFitness(fitness);
         return neighbor;
     }
 
     private void evaluate(AnnealingState state) {
-        TurbineLayout layout = new TurbineLayout(state.getLayout());
-        state.setFitness(getPowerCalculator().calculateTotalPower(layout));
+        state.setFitness(getPowerCalculator().calculateTotalPower(state.getLayout()));
     }
 
     private double acceptanceProbability(double delta, double temperature) {
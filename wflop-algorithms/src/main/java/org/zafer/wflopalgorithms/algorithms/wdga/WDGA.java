@@ -16,8 +16,6 @@ import org.zafer.wflopalgorithms.common.AbstractMetaheuristic;
 import org.zafer.wflopalgorithms.common.ga.solution.*;
 import org.zafer.wflopalgorithms.common.ga.strategy.*;
 import org.zafer.wflopcore.power.PowerCalculator;
-import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
-import org.zafer.wflopcore.wake.WakeOptimization;
 import org.zafer.wflopmetaheuristic.Solution;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionConfig;
 import org.zafer.wflopmetaheuristic.termination.TerminationConditionFactory;
@@ -65,15 +63,6 @@ public class WDGA extends AbstractMetaheuristic {
         this.mutationSelectionPercentage = mutationSelectionPercentage != null ? mutationSelectionPercentage : 0.5;
     }
 
-    @Override
-    protected PowerCalculator createPowerCalculator() {
-        return new PowerCalculator(
-            getProblem(),
-            new DefaultWakeModelProvider(),
-            WakeOptimization.BOTH
-        );
-    }
-
     @Override
     protected void init() {
         this.selectionStrategyImpl = createSelectionStrategy();
@@ -82,7 +71,7 @@ public class WDGA extends AbstractMetaheuristic {
         this.randomReplacementImpl = new RandomReplacementMutation();
 
         initializePopulation();
-        evaluatePopulation();
+        evaluatePopulation(this.population);
 
         this.bestIndividual = Collections.max(population, Comparator.comparingDouble(Individual::getFitness));
     }
@@ -98,7 +87,7 @@ public class WDGA extends AbstractMetaheuristic {
             if (getRandom().nextDouble() < this.crossoverRate) {
                 child = this.crossoverStrategyImpl.crossover(parent1, parent2, getProblem());
             } else {
-                child = new Individual(parent1.getList());
+                child = new Individual(parent1.copyGenes());
             }
 
             if (getRandom().nextDouble() < this.mutationRate) {
@@ -109,11 +98,10 @@ public class WDGA extends AbstractMetaheuristic {
                 }
             }
 
-            double fitness = computeFitness(child);
-            child.setFitness(fitness);
             newPopulation.add(child);
         }
 
+        evaluatePopulation(newPopulation);
         this.population = newPopulation;
 
         Individual currentBest =
@@ -144,16 +132,18 @@ public class WDGA extends AbstractMetaheuristic {
         }
     }
 
-    private void evaluatePopulation() {
-        for (Individual individual : this.population) {
-            double fitness = computeFitness(individual);
-            individual.setFitness(fitness);
+    private void evaluatePopulation(List<Individual> individuals) {
+        List<TurbineLayout> layouts = new ArrayList<>(individuals.size());
+        for (Individual individual : individuals) {
+            layouts.add(individual.getLayout());
         }
-    }
 
-    private double computeFitness(Individual individual) {
-        TurbineLayout layout = new TurbineLayout(individual.getList());
-        return getPowerCalculator().calculateTotalPower(layout);
+        double[] fitness = new double[layouts.size()];
+        getPowerCalculator().evaluateBatch(layouts, fitness);
+
+        for (int i = 0; i < fitness.length; i++) {
+            individuals.get(i).setFitness(fitness[i]);
+        }
     }
 
     private SelectionStrategy createSelectionStrategy() {
@@ -1,9 +1,12 @@
 package org.zafer.wflopalgorithms.algorithms.wdga.strategy;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.zafer.wflopalgorithms.common.ga.solution.Individual;
 import org.zafer.wflopalgorithms.common.ga.strategy.CrossoverStrategy;
+import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.problem.WFLOP;
 import org.zafer.wflopmodel.wind.WindProfile;
 
@@ -29,15 +32,17 @@ public class WakeBasedCrossoverStrategy implements CrossoverStrategy {
 
     @Override
     public Individual crossover(Individual parent1, Individual parent2, WFLOP problem) {
-        List<Integer> parent1Genes = parent1.getList();
-        List<Integer> parent2Genes = parent2.getList();
+        TurbineLayout parent1Layout = parent1.getLayout();
+        TurbineLayout parent2Layout = parent2.getLayout();
 
         // Calculate resultant wind angle from all wind profiles
         if (this.resultantWind == -1) {
             this.resultantWind = calculateResultantWind(problem);
         }
 
-        Set<Integer> childGenes = new HashSet<>();
+        int[] childGenes = new int[problem.getCellCount()];
+        boolean[] taken = new boolean[problem.getCellCount()];
+        int size = 0;
 
         // Find center point (e.g., for size 4, center is 1.5; for size 5, center is 2.0)
         double center = (problem.getDimension() - 1) / 2.0;
@@ -55,24 +60,24 @@ public class WakeBasedCrossoverStrategy implements CrossoverStrategy {
             // Check which side of the center-point line the cell falls on
             double side = (x - center) * dy - (y - center) * dx;
 
-            if (side < 1e-6) {
-                if (parent1Genes.contains(i)) childGenes.add(i);
-            } else {
-                if (parent2Genes.contains(i)) childGenes.add(i);
+            boolean inherited = side < 1e-6 ? parent1Layout.contains(i) : parent2Layout.contains(i);
+            if (inherited) {
+                childGenes[size++] = i;
+                taken[i] = true;
             }
         }
 
         // Repair if necessary
         int targetTurbines = problem.getNumberOfTurbines();
-        if (childGenes.size() < targetTurbines) {
+        if (size < targetTurbines) {
             // Add turbines to reach target count
-            addRandomTurbines(childGenes, targetTurbines, problem);
-        } else if (childGenes.size() > targetTurbines) {
+            size = addRandomTurbines(childGenes, taken, size, targetTurbines, problem);
+        } else if (size > targetTurbines) {
             // Remove excess turbines randomly
-            removeRandomTurbines(childGenes, targetTurbines);
+            size = removeRandomTurbines(childGenes, size, targetTurbines);
         }
 
-        return new Individual(new ArrayList<>(childGenes));
+        return new Individual(Arrays.copyOf(childGenes, size));
     }
 
     /**
@@ -125,20 +130,24 @@ public class WakeBasedCrossoverStrategy implements CrossoverStrategy {
         return angle;
     }
 
-    private void addRandomTurbines(Set<Integer> genes, int targetCount, WFLOP problem) {
+    private int addRandomTurbines(int[] genes, boolean[] taken, int size, int targetCount, WFLOP problem) {
         int layoutSize = problem.getCellCount();
-        while (genes.size() < targetCount) {
+        while (size < targetCount) {
             int randomGene = random.nextInt(layoutSize);
-            genes.add(randomGene);
+            if (!taken[randomGene]) {
+                taken[randomGene] = true;
+                genes[size++] = randomGene;
+            }
         }
+        return size;
     }
 
-    private void removeRandomTurbines(Set<Integer> genes, int targetCount) {
-        List<Integer> geneList = new ArrayList<>(genes);
-        while (genes.size() > targetCount) {
-            int randomIndex = random.nextInt(geneList.size());
-            genes.remove(geneList.get(randomIndex));
-            geneList.remove(randomIndex);
+    // Swap-removes random genes; their order carries no meaning here
+    private int removeRandomTurbines(int[] genes, int size, int targetCount) {
+        while (size > targetCount) {
+            int randomIndex = random.nextInt(size);
+            genes[randomIndex] = genes[--size];
         }
+        return size;
     }
 }
@@ -1,17 +1,14 @@
 package org.zafer.wflopalgorithms.algorithms.wdga.strategy;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Random;
-import java.util.Set;
 
 import org.zafer.wflopalgorithms.common.ga.solution.Individual;
 import org.zafer.wflopalgorithms.common.ga.strategy.MutationStrategy;
+import org.zafer.wflopcore.power.PowerBreakdown;
 import org.zafer.wflopcore.power.PowerCalculator;
+import org.zafer.wflopcore.power.PowerPotentialField;
+import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.problem.WFLOP;
 
 public class WakeBasedMutationStrategy implements MutationStrategy {
@@ -20,6 +17,9 @@ public class WakeBasedMutationStrategy implements MutationStrategy {
     private final double wakeAnalysisPercentage; // Percentage of turbines to analyze
     private final double mutationSelectionPercentage; // Percentage of analyzed turbines to mutate
     private final PowerCalculator powerCalculator;
+    // Follows the layout of the last mutated individual minus its removed
+    // turbines, so consecutive mutations only pay for the cells that differ
+    private PowerPotentialField potentialField;
 
     public WakeBasedMutationStrategy(
         double wakeAnalysisPercentage,
@@ -49,84 +49,133 @@ public class WakeBasedMutationStrategy implements MutationStrategy {
     @Override
     public Individual mutate(Individual individual, WFLOP problem) {
 
-        List<Integer> turbines = new ArrayList<>(individual.getList());
-        int countForAnalysis = (int) (turbines.size() * wakeAnalysisPercentage);
+        TurbineLayout layout = individual.getLayout();
+        int countForAnalysis = (int) (layout.size() * wakeAnalysisPercentage);
         int countForMutation = (int) (countForAnalysis * mutationSelectionPercentage);
 
-        List<Integer> turbinesToRemove = findTurbinesWithLowestPowerOutput(
+        int[] turbinesToRemove = findTurbinesWithLowestPowerOutput(
                 powerCalculator,
-            turbines,
+            layout,
             countForAnalysis,
             countForMutation);
-        turbines.removeAll(turbinesToRemove);
 
-        List<Integer> turbinesToAdd = findCellsWithHighestPowerOutput(
-                powerCalculator,
-            turbines,
+        if (potentialField == null) {
+            potentialField = powerCalculator.createPotentialField(layout);
+        } else {
+            potentialField.setLayout(layout);
+        }
+        for (int turbine : turbinesToRemove) {
+            potentialField.remove(turbine);
+        }
+
+        int[] turbinesToAdd = findCellsWithHighestPowerOutput(
             countForAnalysis,
-	    countForMutation,
-            problem.getCellCount());
-	turbines.addAll(turbinesToAdd);
+            countForMutation);
 
-        return new Individual(turbines);
+        int[] genes = new int[layout.size()];
+        int size = 0;
+        for (int i = 0; i < layout.size(); i++) {
+            if (potentialField.contains(layout.getCell(i))) {
+                genes[size++] = layout.getCell(i);
+            }
+        }
+        for (int cell : turbinesToAdd) {
+            genes[size++] = cell;
+        }
+
+        return new Individual(genes);
     }
 
-    private List<Integer> findTurbinesWithLowestPowerOutput(
+    private int[] findTurbinesWithLowestPowerOutput(
         PowerCalculator powerCalculator,
-        List<Integer> turbines,
+        TurbineLayout layout,
         int countForAnalysis,
         int countForMutation
     ) {
-        Map<Integer, Double> turbinePowerOutputMap = new HashMap<>();
-        for(Integer turbine : turbines) {
-            double value = powerCalculator.calculatePower(turbine, turbines);
-            turbinePowerOutputMap.put(turbine, value);
+        // One evaluation yields every turbine's power
+        PowerBreakdown breakdown = powerCalculator.calculateBreakdown(layout);
+
+        // Bounded max-heap of the lowest powers seen so far, so only
+        // countForAnalysis turbines are ever ordered
+        int capacity = Math.min(countForAnalysis, breakdown.getTurbineCount());
+        int[] heapTurbines = new int[capacity];
+        double[] heapPowers = new double[capacity];
+        int heapSize = 0;
+        for (int i = 0; i < breakdown.getTurbineCount() && capacity > 0; i++) {
+            double power = breakdown.getTurbinePower(i);
+            if (heapSize < capacity) {
+                heapTurbines[heapSize] = breakdown.getTurbine(i);
+                heapPowers[heapSize] = power;
+                siftUp(heapTurbines, heapPowers, heapSize++);
+            } else if (power < heapPowers[0]) {
+                // Cells come in ascending order, so ties keep the lower cell
+                heapTurbines[0] = breakdown.getTurbine(i);
+                heapPowers[0] = power;
+                siftDown(heapTurbines, heapPowers, heapSize);
+            }
+        }
+
+        // Popping the maximum into the back leaves the turbines sorted lowest first
+        for (int end = heapSize - 1; end > 0; end--) {
+            swap(heapTurbines, heapPowers, 0, end);
+            siftDown(heapTurbines, heapPowers, end);
         }
 
-        List<Integer> lowest = turbinePowerOutputMap.entrySet()
-            .stream()
-            .sorted(Map.Entry.comparingByValue())
-            .limit(countForAnalysis)
-            .map(Map.Entry::getKey)
-            .toList();
-
-        List<Integer> modifiableList = new ArrayList<>(lowest);
-        Collections.shuffle(modifiableList);
-        List<Integer> turbinesToRemove = modifiableList.subList(0, countForMutation);
-        return turbinesToRemove;
+        shuffle(heapTurbines);
+        return Arrays.copyOf(heapTurbines, countForMutation);
     }
 
-    private List<Integer> findCellsWithHighestPowerOutput( 
-        PowerCalculator powerCalculator,
-        List<Integer> turbines,
-        int countForAnalysis,
-        int countForMutation,
-        int cellCount
-    ) {
-        Set<Integer> excludeSet = new HashSet<>(turbines);
-        List<Integer> cells = new ArrayList<>(cellCount);
-        for (int i = 0; i < cellCount; i++) {
-            if (!excludeSet.contains(i)) {
-                cells.add(i);
-            }
+    private static void siftUp(int[] turbines, double[] powers, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!greater(powers, turbines, index, parent)) break;
+            swap(turbines, powers, index, parent);
+            index = parent;
         }
+    }
 
-        Map<Integer, Double> cellPowerOutputMap = new HashMap<>();
-        for(Integer cell : cells) {
-            double value = powerCalculator.calculatePower(cell, turbines);
-            cellPowerOutputMap.put(cell, value);
+    private static void siftDown(int[] turbines, double[] powers, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) break;
+
+            int largest = left + 1 < size && greater(powers, turbines, left + 1, left) ? left + 1 : left;
+            if (!greater(powers, turbines, largest, index)) break;
+            swap(turbines, powers, index, largest);
+            index = largest;
         }
+    }
+
+    // Higher power first; among equal powers the higher cell is evicted first
+    private static boolean greater(double[] powers, int[] turbines, int a, int b) {
+        return powers[a] > powers[b] || (powers[a] == powers[b] && turbines[a] > turbines[b]);
+    }
+
+    private static void swap(int[] turbines, double[] powers, int i, int j) {
+        int turbine = turbines[i];
+        turbines[i] = turbines[j];
+        turbines[j] = turbine;
+        double power = powers[i];
+        powers[i] = powers[j];
+        powers[j] = power;
+    }
 
-        List<Integer> highest = cellPowerOutputMap.entrySet()
-            .stream()
-            .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
-            .limit(countForAnalysis)
-            .map(Map.Entry::getKey)
-            .toList();
-
-        List<Integer> modifiableList = new ArrayList<>(highest);
-        Collections.shuffle(modifiableList);
-        List<Integer> turbinesToAdd = modifiableList.subList(0, countForMutation);
-        return turbinesToAdd;
+    private int[] findCellsWithHighestPowerOutput(
+        int countForAnalysis,
+        int countForMutation
+    ) {
+        int[] highest = potentialField.topFreeCells(countForAnalysis);
+        shuffle(highest);
+        return Arrays.copyOf(highest, countForMutation);
+    }
+
+    private void shuffle(int[] cells) {
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int cell = cells[i];
+            cells[i] = cells[j];
+            cells[j] = cell;
+        }
     }
 }
@@ -3,8 +3,15 @@ package org.zafer.wflopalgorithms.common;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import org.zafer.wflopcore.power.PowerCalculator;
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.WakeModelPolicy;
+import org.zafer.wflopcore.wake.WakeOptimization;
 import org.zafer.wflopmetaheuristic.Metaheuristic;
 import org.zafer.wflopmetaheuristic.ProgressEvent;
 import org.zafer.wflopmetaheuristic.Solution;
@@ -20,6 +27,9 @@ public abstract class AbstractMetaheuristic implements Metaheuristic {
     private WFLOP problem;
     private PowerCalculator powerCalculator;
 
+    private ForkJoinPool evaluationPool;
+    private Function<WakeOptimization, PowerCalculator> powerCalculatorSource;
+
     private double totalPowerWithoutWake;
     private double matrixInitTime;
 
@@ -32,6 +42,24 @@ public abstract class AbstractMetaheuristic implements Metaheuristic {
         this.random.setSeed(seed);
     }
 
+    /**
+     * Sets the pool that evaluates whole generations; the power calculator's
+     * default (the common pool) is used when none is set.
+     */
+    @JsonIgnore
+    public final void setEvaluationPool(ForkJoinPool evaluationPool) {
+        this.evaluationPool = evaluationPool;
+    }
+
+    /**
+     * Supplies shared power calculators instead of building a new one per
+     * run, e.g. from a {@code PowerCalculatorRegistry} lease.
+     */
+    @JsonIgnore
+    public final void setPowerCalculatorSource(Function<WakeOptimization, PowerCalculator> powerCalculatorSource) {
+        this.powerCalculatorSource = powerCalculatorSource;
+    }
+
     @Override
     public final Solution run(WFLOP problem) {
         return runInternal(problem, Collections.emptyList());
@@ -45,13 +73,17 @@ public abstract class AbstractMetaheuristic implements Metaheuristic {
     private Solution runInternal(WFLOP problem, List<ProgressListener> listeners) {
         this.terminationCondition.onStart();
         this.problem = problem;
-        double start = System.currentTimeMillis();
         this.powerCalculator = createPowerCalculator();
-        double end = System.currentTimeMillis();
+
+        if (this.evaluationPool != null) {
+            this.powerCalculator = this.powerCalculator.withEvaluationPool(this.evaluationPool);
+        }
 
         this.totalPowerWithoutWake = this.powerCalculator.
             calculateTotalPowerWithoutWake(getProblem().getNumberOfTurbines());
-        this.matrixInitTime = end - start;
+        // The calculator's own build time, which a shared one reports to
+        // every run rather than the near-zero time of fetching it
+        this.matrixInitTime = this.powerCalculator.getWakeModelBuildTime();
 
         init();
 
@@ -70,6 +102,7 @@ public abstract class AbstractMetaheuristic implements Metaheuristic {
                 getBestSolution().getFitness(),
                 this.totalPowerWithoutWake,
                 this.matrixInitTime,
+                this.powerCalculator.getWakeOptimization().name(),
                 this.terminationCondition.getTerminationProgress()
             );
 
@@ -79,7 +112,21 @@ public abstract class AbstractMetaheuristic implements Metaheuristic {
         }
     }
 
-    protected abstract PowerCalculator createPowerCalculator();
+    protected PowerCalculator createPowerCalculator(WakeOptimization optimization) {
+        if (this.powerCalculatorSource != null) {
+            return this.powerCalculatorSource.apply(optimization);
+        }
+        return new PowerCalculator(getProblem(), new DefaultWakeModelProvider(), optimization);
+    }
+
+    /**
+     * Uses the fastest wake representation that fits the memory budget of
+     * {@link WakeModelPolicy}; algorithms needing a fixed one override this.
+     */
+    protected PowerCalculator createPowerCalculator() {
+        return createPowerCalculator(WakeModelPolicy.fromSystemProperty().select(getProblem()));
+    }
+
     protected abstract void init();
     protected abstract void step();
     protected abstract Solution getBestSolution();
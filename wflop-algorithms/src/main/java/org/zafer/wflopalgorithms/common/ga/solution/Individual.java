@@ -6,26 +6,39 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.zafer.wflopmetaheuristic.Solution;
+import org.zafer.wflopmodel.layout.TurbineLayout;
 
 /**
  * Represents an individual in the genetic algorithm population.
- * Stores a solution as a list of genes (integer indices) and its fitness value.
+ * Stores a solution as an array of genes (cell indices) and its fitness value.
  */
 public class Individual implements Solution {
 
-    private final List<Integer> genes;
+    private final int[] genes;
     private double fitness;
+    // Built on first evaluation; the genes never change afterwards
+    private TurbineLayout layout;
 
     public Individual(List<Integer> genes) {
-        this.genes = new ArrayList<>(genes);
-        this.fitness = 0.0;
+        this(genes, 0.0);
     }
 
     public Individual(List<Integer> genes, double fitness) {
-        this.genes = new ArrayList<>(genes);
+        this.genes = new int[genes.size()];
+        for (int i = 0; i < this.genes.length; i++) {
+            this.genes[i] = genes.get(i);
+        }
         this.fitness = fitness;
     }
 
+    /**
+     * Takes ownership of the array, which the caller must not modify afterwards.
+     */
+    public Individual(int[] genes) {
+        this.genes = genes;
+        this.fitness = 0.0;
+    }
+
     @Override
     public double getFitness() {
         return fitness;
@@ -33,7 +46,34 @@ public class Individual implements Solution {
 
     @Override
     public List<Integer> getList() {
-        return new ArrayList<>(genes);
+        List<Integer> list = new ArrayList<>(genes.length);
+        for (int gene : genes) {
+            list.add(gene);
+        }
+        return list;
+    }
+
+    @Override
+    public TurbineLayout getLayout() {
+        if (layout == null) {
+            layout = new TurbineLayout(genes);
+        }
+        return layout;
+    }
+
+    public int size() {
+        return genes.length;
+    }
+
+    public int getGene(int index) {
+        return genes[index];
+    }
+
+    /**
+     * Returns a copy of the genes that the caller may modify.
+     */
+    public int[] copyGenes() {
+        return genes.clone();
     }
 
     public void setFitness(double fitness) {
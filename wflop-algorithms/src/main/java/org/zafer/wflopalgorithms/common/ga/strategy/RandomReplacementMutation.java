@@ -3,10 +3,7 @@ package org.zafer.wflopalgorithms.common.ga.strategy;
 import org.zafer.wflopalgorithms.common.ga.solution.Individual;
 import org.zafer.wflopmodel.problem.WFLOP;
 
-import java.util.HashSet;
-import java.util.List;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * Random replacement mutation strategy.
@@ -26,11 +23,10 @@ public class RandomReplacementMutation implements MutationStrategy {
 
     @Override
     public Individual mutate(Individual individual, WFLOP problem) {
-        List<Integer> genes = individual.getList();
-        Set<Integer> existingGenes = new HashSet<>(genes);
+        int[] genes = individual.copyGenes();
         
         // Select a random position to mutate
-        int mutationPos = random.nextInt(genes.size());
+        int mutationPos = random.nextInt(genes.length);
         
         // Find a new gene value that doesn't exist
         int layoutSize = problem.getCellCount();
@@ -39,10 +35,15 @@ public class RandomReplacementMutation implements MutationStrategy {
         do {
             newGene = random.nextInt(layoutSize);
             attempts++;
-        } while (existingGenes.contains(newGene) && attempts < layoutSize * 2);
+        } while (individual.getLayout().contains(newGene) && attempts < layoutSize * 2);
+
+        // Give up on the mutation rather than duplicating a turbine
+        if (individual.getLayout().contains(newGene)) {
+            return new Individual(genes);
+        }
         
         // Replace the gene
-        genes.set(mutationPos, newGene);
+        genes[mutationPos] = newGene;
 
         return new Individual(genes);
     }
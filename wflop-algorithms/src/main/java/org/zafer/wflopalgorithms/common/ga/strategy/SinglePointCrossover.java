@@ -3,12 +3,12 @@ package org.zafer.wflopalgorithms.common.ga.strategy;
 import org.zafer.wflopalgorithms.common.ga.solution.Individual;
 import org.zafer.wflopmodel.problem.WFLOP;
 
-import java.util.*;
+import java.util.Random;
 
 /**
  * Single-point crossover strategy.
  * Creates an offspring by combining genes from both parents at a random crossover point.
- * Ensures unique turbine placements by using a set.
+ * Ensures unique turbine placements by tracking the cells already taken.
  */
 public class SinglePointCrossover implements CrossoverStrategy {
 
@@ -24,35 +24,44 @@ public class SinglePointCrossover implements CrossoverStrategy {
 
     @Override
     public Individual crossover(Individual parent1, Individual parent2, WFLOP problem) {
-        List<Integer> genes1 = parent1.getList();
-        List<Integer> genes2 = parent2.getList();
+        int geneCount = parent1.size();
         
         // Perform single-point crossover
-        int crossoverPoint = random.nextInt(genes1.size());
-        Set<Integer> childGenes = new LinkedHashSet<>();
+        int crossoverPoint = random.nextInt(geneCount);
+        int[] childGenes = new int[geneCount];
+        // Occupancy of the child so far, in place of a set of boxed genes
+        boolean[] taken = new boolean[problem.getCellCount()];
+        int size = 0;
         
         // Take genes from first parent up to crossover point
         for (int i = 0; i < crossoverPoint; i++) {
-            childGenes.add(genes1.get(i));
+            size = addGene(childGenes, taken, size, parent1.getGene(i));
         }
         
         // Fill remaining positions with genes from second parent
-        for (int gene : genes2) {
-            if (childGenes.size() >= genes1.size()) break;
-            childGenes.add(gene);
+        for (int i = 0; i < parent2.size() && size < geneCount; i++) {
+            size = addGene(childGenes, taken, size, parent2.getGene(i));
         }
         
         // If still not enough genes, take remaining from first parent
-        for (int gene : genes1) {
-            if (childGenes.size() >= genes1.size()) break;
-            childGenes.add(gene);
+        for (int i = 0; i < geneCount && size < geneCount; i++) {
+            size = addGene(childGenes, taken, size, parent1.getGene(i));
         }
         
         // If still not enough (edge case), fill with random valid positions
-        while (childGenes.size() < genes1.size()) {
-            childGenes.add(random.nextInt(problem.getCellCount()));
+        while (size < geneCount) {
+            size = addGene(childGenes, taken, size, random.nextInt(problem.getCellCount()));
         }
         
-        return new Individual(new ArrayList<>(childGenes));
+        return new Individual(childGenes);
+    }
+
+    private static int addGene(int[] genes, boolean[] taken, int size, int gene) {
+        if (taken[gene]) {
+            return size;
+        }
+        taken[gene] = true;
+        genes[size] = gene;
+        return size + 1;
     }
 }
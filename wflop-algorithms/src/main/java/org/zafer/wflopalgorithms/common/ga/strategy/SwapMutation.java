@@ -3,7 +3,6 @@ package org.zafer.wflopalgorithms.common.ga.strategy;
 import org.zafer.wflopalgorithms.common.ga.solution.Individual;
 import org.zafer.wflopmodel.problem.WFLOP;
 
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -24,23 +23,23 @@ public class SwapMutation implements MutationStrategy {
 
     @Override
     public Individual mutate(Individual individual, WFLOP problem) {
-        List<Integer> genes = individual.getList();
-        
-        if (genes.size() < 2) {
+        if (individual.size() < 2) {
             return individual;
         }
 
+        int[] genes = individual.copyGenes();
+
         // Swap two random positions
-        int pos1 = random.nextInt(genes.size());
-        int pos2 = random.nextInt(genes.size());
+        int pos1 = random.nextInt(genes.length);
+        int pos2 = random.nextInt(genes.length);
         
         while (pos2 == pos1) {
-            pos2 = random.nextInt(genes.size());
+            pos2 = random.nextInt(genes.length);
         }
 
-        Integer temp = genes.get(pos1);
-        genes.set(pos1, genes.get(pos2));
-        genes.set(pos2, temp);
+        int temp = genes[pos1];
+        genes[pos1] = genes[pos2];
+        genes[pos2] = temp;
 
         return new Individual(genes);
     }
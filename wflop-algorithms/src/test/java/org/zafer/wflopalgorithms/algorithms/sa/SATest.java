@@ -0,0 +1,73 @@
+package org.zafer.wflopalgorithms.algorithms.sa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.zafer.wflopcore.power.PowerCalculator;
+import org.zafer.wflopmetaheuristic.Solution;
+import org.zafer.wflopmetaheuristic.termination.TerminationConditionConfig;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class SATest {
+
+    @Test
+    void run_WhenEveryCellHoldsATurbine_Terminates() {
+        // Given
+        SA sa = createSa();
+        WFLOP problem = createWflop(2, 4);
+
+        // When
+        Solution solution = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> sa.run(problem));
+
+        // Then
+        assertEquals(Set.of(0, 1, 2, 3), Set.copyOf(solution.getList()));
+    }
+
+    @Test
+    void run_ReturnsUniqueLayoutWithItsFullEvaluation() {
+        // Given
+        SA sa = createSa();
+        WFLOP problem = createWflop(5, 6);
+
+        // When
+        Solution solution = sa.run(problem);
+
+        // Then
+        assertEquals(6, Set.copyOf(solution.getList()).size());
+        assertEquals(new PowerCalculator(problem).calculateTotalPower(solution.getLayout()),
+            solution.getFitness(), 1e-4);
+    }
+
+    private static SA createSa() {
+        TerminationConditionConfig termination = new TerminationConditionConfig();
+        termination.setType("generation");
+        termination.setMaxGenerations(5);
+        SA sa = new SA("SA", 100.0, 0.9, 20, termination);
+        sa.setSeed(7);
+        return sa;
+    }
+
+    private static WFLOP createWflop(int dimension, int turbineCount) {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            dimension,
+            turbineCount,
+            List.of(
+                new WindProfile(12.0, 0, 0.6),
+                new WindProfile(8.0, 90, 0.4)
+            )
+        );
+    }
+}
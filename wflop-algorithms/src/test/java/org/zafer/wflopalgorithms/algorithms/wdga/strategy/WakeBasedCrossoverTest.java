@@ -7,6 +7,7 @@ import java.util.Set;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -48,6 +49,41 @@ class WakeBasedCrossoverTest {
         );
     }
 
+    @Test
+    void crossover_WhenHalvesHoldTooFewTurbines_AddsFreeCells() {
+        // Given: with wind from 180 degrees the child takes parent1's two left
+        // columns and parent2's two right columns, which are all empty here
+        WakeBasedCrossoverStrategy strategy = new WakeBasedCrossoverStrategy(1);
+        WFLOP wflop = createWflop(List.of(new WindProfile(12.0, 180, 1.0)));
+        Individual parent1 = new Individual(List.of(2, 3, 6, 7));
+        Individual parent2 = new Individual(List.of(0, 1, 4, 5));
+
+        // When
+        Individual offspring = strategy.crossover(parent1, parent2, wflop);
+
+        // Then
+        assertEquals(EXPECTED_TURBINE_COUNT, offspring.size());
+        assertEquals(EXPECTED_TURBINE_COUNT, Set.copyOf(offspring.getList()).size());
+        assertTrue(offspring.getList().stream().allMatch(gene -> gene >= 0 && gene < TOTAL_CELLS));
+    }
+
+    @Test
+    void crossover_WhenHalvesHoldTooManyTurbines_KeepsInheritedSubset() {
+        // Given: both parents fill the half they pass on
+        WakeBasedCrossoverStrategy strategy = new WakeBasedCrossoverStrategy(1);
+        WFLOP wflop = createWflop(List.of(new WindProfile(12.0, 180, 1.0)));
+        Individual parent1 = new Individual(List.of(0, 1, 4, 5));
+        Individual parent2 = new Individual(List.of(2, 3, 6, 7));
+
+        // When
+        Individual offspring = strategy.crossover(parent1, parent2, wflop);
+
+        // Then
+        assertEquals(EXPECTED_TURBINE_COUNT, offspring.size());
+        assertEquals(EXPECTED_TURBINE_COUNT, Set.copyOf(offspring.getList()).size());
+        assertTrue(Set.of(0, 1, 2, 3, 4, 5, 6, 7).containsAll(offspring.getList()), offspring.getList().toString());
+    }
+
     private static Stream<Arguments> crossoverScenarios() {
         return Stream.of(
             Arguments.of(
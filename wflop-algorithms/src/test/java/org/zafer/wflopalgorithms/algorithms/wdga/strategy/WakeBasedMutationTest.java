@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 import org.zafer.wflopalgorithms.common.ga.solution.Individual;
+import org.zafer.wflopcore.power.PowerBreakdown;
 import org.zafer.wflopcore.power.PowerCalculator;
 import org.zafer.wflopmodel.problem.WFLOP;
 import org.zafer.wflopmodel.wind.WindProfile;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -55,4 +58,39 @@ class WakeBasedMutationTest {
             actualGenes.contains(expectedGenes.get(0)) && actualGenes.contains(expectedGenes.get(1))
         );
     }
+
+    @Test
+    void mutate_KeepsTurbinesOutsideTheLowestAnalyzed() {
+        // Given: a column of turbines in line with the wind, so power falls downwind
+        int dimension = 5;
+        List<Integer> column = List.of(2, 7, 12, 17, 22);
+        WFLOP problem = new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            dimension,
+            column.size(),
+            List.of(
+                new WindProfile(12.0, 180, 1.0)
+            )
+        );
+        PowerCalculator calculator = new PowerCalculator(problem);
+        PowerBreakdown breakdown = calculator.calculateBreakdown(new Individual(column).getLayout());
+        Integer[] byPower = column.toArray(new Integer[0]);
+        Arrays.sort(byPower, Comparator.comparingDouble(
+            cell -> breakdown.getTurbinePowers(new int[] {cell})[0]));
+        WakeBasedMutationStrategy strategy = new WakeBasedMutationStrategy(0.6, 1.0, 3, calculator);
+
+        // When
+        List<Integer> actualGenes = strategy.mutate(new Individual(column), problem).getList();
+
+        // Then: the three weakest are replaced and the two strongest stay
+        assertEquals(column.size(), Set.copyOf(actualGenes).size());
+        assertTrue(actualGenes.contains(byPower[3]), actualGenes.toString());
+        assertTrue(actualGenes.contains(byPower[4]), actualGenes.toString());
+    }
 }
@@ -0,0 +1,67 @@
+package org.zafer.wflopalgorithms.common.ga.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.zafer.wflopalgorithms.common.ga.solution.Individual;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class RandomReplacementMutationTest {
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    void mutate_ReplacesOneGeneWithFreeCell(long seed) {
+        // Given
+        RandomReplacementMutation strategy = new RandomReplacementMutation(seed);
+        Individual individual = new Individual(List.of(0, 5, 10, 15));
+
+        // When
+        Individual mutant = strategy.mutate(individual, createWflop(4, 4));
+
+        // Then
+        int changed = 0;
+        for (int i = 0; i < individual.size(); i++) {
+            if (individual.getGene(i) != mutant.getGene(i)) {
+                changed++;
+                int gene = mutant.getGene(i);
+                assertFalse(individual.getLayout().contains(gene), "replaced by occupied cell " + gene);
+                assertTrue(gene >= 0 && gene < 16, "cell " + gene + " outside the grid");
+            }
+        }
+        assertEquals(1, changed);
+    }
+
+    @Test
+    void mutate_WhenGridIsFull_LeavesGenesUnchanged() {
+        // Given
+        RandomReplacementMutation strategy = new RandomReplacementMutation(1);
+        Individual individual = new Individual(List.of(3, 1, 0, 2));
+
+        // When
+        Individual mutant = strategy.mutate(individual, createWflop(2, 4));
+
+        // Then
+        assertEquals(individual.getList(), mutant.getList());
+    }
+
+    private static WFLOP createWflop(int dimension, int turbineCount) {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            dimension,
+            turbineCount,
+            List.of(new WindProfile(12.0, 0, 1.0))
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package org.zafer.wflopalgorithms.common.ga.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.zafer.wflopalgorithms.common.ga.solution.Individual;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class SinglePointCrossoverTest {
+
+    private static final int DIMENSION = 4;
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    void crossover_WhenParentsOverlap_TakesUniqueGenesFromParents(long seed) {
+        // Given
+        SinglePointCrossover strategy = new SinglePointCrossover(seed);
+        Individual parent1 = new Individual(List.of(0, 5, 10, 15));
+        Individual parent2 = new Individual(List.of(5, 0, 3, 12));
+
+        // When
+        Individual child = strategy.crossover(parent1, parent2, createWflop());
+
+        // Then
+        Set<Integer> parentGenes = new HashSet<>(parent1.getList());
+        parentGenes.addAll(parent2.getList());
+        assertEquals(4, child.size());
+        assertEquals(4, Set.copyOf(child.getList()).size());
+        assertTrue(parentGenes.containsAll(child.getList()), child.getList().toString());
+    }
+
+    @Test
+    void crossover_WhenParentsAreIdentical_ReturnsTheirGenes() {
+        // Given
+        SinglePointCrossover strategy = new SinglePointCrossover(7);
+        Individual parent = new Individual(List.of(2, 7, 9, 14));
+
+        // When
+        Individual child = strategy.crossover(parent, new Individual(List.of(2, 7, 9, 14)), createWflop());
+
+        // Then
+        assertEquals(Set.of(2, 7, 9, 14), Set.copyOf(child.getList()));
+    }
+
+    private static WFLOP createWflop() {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            DIMENSION,
+            DIMENSION,
+            List.of(new WindProfile(12.0, 0, 1.0))
+        );
+    }
+}
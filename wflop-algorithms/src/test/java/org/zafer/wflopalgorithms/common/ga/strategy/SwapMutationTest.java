@@ -0,0 +1,67 @@
+package org.zafer.wflopalgorithms.common.ga.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.zafer.wflopalgorithms.common.ga.solution.Individual;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class SwapMutationTest {
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    void mutate_SwapsExactlyTwoPositions(long seed) {
+        // Given
+        SwapMutation strategy = new SwapMutation(seed);
+        Individual individual = new Individual(List.of(0, 5, 10, 15));
+
+        // When
+        Individual mutant = strategy.mutate(individual, createWflop());
+
+        // Then
+        assertEquals(Set.copyOf(individual.getList()), Set.copyOf(mutant.getList()));
+        int changed = 0;
+        for (int i = 0; i < individual.size(); i++) {
+            if (individual.getGene(i) != mutant.getGene(i)) {
+                changed++;
+            }
+        }
+        assertEquals(2, changed);
+        assertEquals(List.of(0, 5, 10, 15), individual.getList());
+    }
+
+    @Test
+    void mutate_WhenSingleGene_ReturnsIndividualUnchanged() {
+        // Given
+        SwapMutation strategy = new SwapMutation(1);
+        Individual individual = new Individual(List.of(6));
+
+        // When
+        Individual mutant = strategy.mutate(individual, createWflop());
+
+        // Then
+        assertSame(individual, mutant);
+    }
+
+    private static WFLOP createWflop() {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            4,
+            4,
+            List.of(new WindProfile(12.0, 0, 1.0))
+        );
+    }
+}
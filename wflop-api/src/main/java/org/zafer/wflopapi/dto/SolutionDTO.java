@@ -6,6 +6,10 @@ public class SolutionDTO {
 
     public List<Integer> layout;
     public double fitness;
+    // Filled in by evaluation only: expected power per turbine in the order
+    // of layout, and per distinct wind angle of the problem in profile order
+    public double[] turbinePowers;
+    public double[] directionPowers;
 
     // Default constructor for Jackson deserialization
     public SolutionDTO() {
@@ -1,8 +1,11 @@
 package org.zafer.wflopapi.service;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import org.zafer.wflopalgorithms.factory.AlgorithmFactory;
 import org.zafer.wflopalgorithms.factory.AlgorithmLoadException;
@@ -10,6 +13,7 @@ import org.zafer.wflopapi.dto.AlgorithmDTO;
 import org.zafer.wflopapi.dto.ProblemDTO;
 import org.zafer.wflopapi.dto.SolutionDTO;
 import org.zafer.wflopalgorithms.common.ga.solution.Individual;
+import org.zafer.wflopcore.power.PowerBreakdown;
 import org.zafer.wflopcore.power.PowerCalculator;
 import org.zafer.wflopmetaheuristic.Metaheuristic;
 import org.zafer.wflopmetaheuristic.Solution;
@@ -44,12 +48,38 @@ public class WFLOPService {
     public SolutionDTO evaluate(ProblemDTO problemDTO, SolutionDTO solutionDTO) {
         WFLOP problem = createWFLOP(problemDTO);
 
-        Individual individual = new Individual(solutionDTO.layout);
+        int[] cells = toCells(solutionDTO.layout, problem.getCellCount());
+        TurbineLayout layout;
+        try {
+            layout = new TurbineLayout(cells);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
         PowerCalculator calculator = new PowerCalculator(problem);
-        TurbineLayout layout = new TurbineLayout(individual.getList());
-        double fitness = calculator.calculateTotalPower(layout);
+        PowerBreakdown breakdown = calculator.calculateBreakdown(layout);
 
-        return new SolutionDTO(solutionDTO.layout, fitness);
+        // The breakdown follows the layout's sorted cells; answer in the client's order
+        SolutionDTO evaluated = new SolutionDTO(List.copyOf(solutionDTO.layout), breakdown.getTotalPower());
+        evaluated.turbinePowers = breakdown.getTurbinePowers(cells);
+        evaluated.directionPowers = breakdown.getDirectionPowers();
+        return evaluated;
+    }
+
+    private static int[] toCells(List<Integer> layout, int cellCount) {
+        if (layout == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Layout is required");
+        }
+        int[] cells = new int[layout.size()];
+        for (int i = 0; i < cells.length; i++) {
+            Integer cell = layout.get(i);
+            if (cell == null || cell < 0 || cell >= cellCount) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Cell " + cell + " is outside the " + cellCount + "-cell grid");
+            }
+            cells[i] = cell;
+        }
+        return cells;
     }
 
     private WFLOP createWFLOP(ProblemDTO problemDTO) {
@@ -0,0 +1,109 @@
+package org.zafer.wflopbenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.zafer.wflopbenchmark.helpers.RandomSolutionGenerator;
+import org.zafer.wflopconfig.ConfigLoader;
+import org.zafer.wflopcore.power.PowerCalculator;
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+
+/**
+ * Layouts per second for a GA-like generation: children of one parent that
+ * each move a few turbines, evaluated one at a time or as a batch. Both run
+ * on the calling thread so only the kernel differs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(BatchEvaluationBenchmark.CHILDREN)
+public class BatchEvaluationBenchmark {
+
+    static final int CHILDREN = 100;
+
+    @Param({"ws1_50x50_t500.json"})
+    public String problem;
+
+    @Param({"DEFICIT_TABLE"})
+    public WakeOptimization optimization;
+
+    @Param({"5", "50", "500"})
+    public int movedTurbines;
+
+    private PowerCalculator powerCalculator;
+    private ForkJoinPool callerPool;
+    private List<TurbineLayout> children;
+    private double[] fitness;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WFLOP wflop = ConfigLoader.load(
+                problem,
+                new TypeReference<WFLOP>() {}
+        );
+
+        this.callerPool = new ForkJoinPool(1);
+        this.powerCalculator =
+                new PowerCalculator(
+                        wflop,
+                        new DefaultWakeModelProvider(),
+                        optimization
+                ).withEvaluationPool(callerPool);
+
+        List<Integer> parent = RandomSolutionGenerator.populateUniqueRandomListShuffle(
+                wflop.getNumberOfTurbines(),
+                wflop.getCellCount());
+        Random random = new Random(42);
+        this.children = new ArrayList<>(CHILDREN);
+        for (int i = 0; i < CHILDREN; i++) {
+            int[] child = parent.stream().mapToInt(Integer::intValue).toArray();
+            boolean[] occupied = new boolean[wflop.getCellCount()];
+            for (int cell : child) {
+                occupied[cell] = true;
+            }
+            for (int moved = 0; moved < movedTurbines; moved++) {
+                int position = random.nextInt(child.length);
+                int cell;
+                do {
+                    cell = random.nextInt(occupied.length);
+                } while (occupied[cell]);
+                occupied[child[position]] = false;
+                occupied[cell] = true;
+                child[position] = cell;
+            }
+            children.add(new TurbineLayout(child));
+        }
+        this.fitness = new double[CHILDREN];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        callerPool.shutdown();
+    }
+
+    @Benchmark
+    public void benchmarkOneAtATime(Blackhole bh) {
+        for (TurbineLayout child : children) {
+            bh.consume(powerCalculator.calculateTotalPower(child));
+        }
+    }
+
+    @Benchmark
+    public void benchmarkBatched(Blackhole bh) {
+        powerCalculator.evaluateBatch(children, fitness);
+        bh.consume(fitness);
+    }
+}
@@ -48,7 +48,7 @@ public class RandomReplacementBenchmark {
 
     @Benchmark
     public void benchmarkMutation(Blackhole bh) {
-        Individual copy = new Individual(originalIndividual.getList());
+        Individual copy = new Individual(originalIndividual.copyGenes());
 
         randomReplacementMutation.mutate(copy, wflop);
         bh.consume(copy);
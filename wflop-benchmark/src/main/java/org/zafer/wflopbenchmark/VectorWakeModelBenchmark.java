@@ -0,0 +1,64 @@
+package org.zafer.wflopbenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.zafer.wflopbenchmark.helpers.RandomSolutionGenerator;
+import org.zafer.wflopconfig.ConfigLoader;
+import org.zafer.wflopcore.power.PowerCalculator;
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class VectorWakeModelBenchmark {
+
+    @Param({
+        "ws1_10x10_t20.json",
+        "ws1_50x50_t500.json"
+    })
+    public String problem;
+
+    @Param({
+        "DEFICIT_TABLE",
+        "VECTOR_DEFICIT_TABLE"
+    })
+    public WakeOptimization optimization;
+
+    private PowerCalculator powerCalculator;
+    private TurbineLayout layout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WFLOP wflop = ConfigLoader.load(
+                problem,
+                new TypeReference<WFLOP>() {}
+        );
+
+        this.powerCalculator =
+                new PowerCalculator(
+                        wflop,
+                        new DefaultWakeModelProvider(),
+                        optimization
+                );
+
+        this.layout =
+                new TurbineLayout(RandomSolutionGenerator.populateUniqueRandomListShuffle(
+                        wflop.getNumberOfTurbines(),
+                        wflop.getCellCount()));
+    }
+
+    @Benchmark
+    public void benchmarkTotalPower(Blackhole bh) {
+        bh.consume(powerCalculator.calculateTotalPower(layout));
+    }
+}
@@ -27,7 +27,8 @@ public class WakeBasedMutationBenchmark {
         "NONE",
         "DISTANCE_MATRIX",
         "INTERSECTION_MATRIX",
-        "BOTH"
+        "BOTH",
+        "OFFSET_TABLE"
     })
     public WakeOptimization optimization;
 
@@ -60,7 +61,7 @@ public class WakeBasedMutationBenchmark {
 
     @Benchmark
     public void benchmarkMutation(Blackhole bh) {
-        Individual copy = new Individual(originalIndividual.getList());
+        Individual copy = new Individual(originalIndividual.copyGenes());
 
         wakeBasedMutationStrategy.mutate(copy, wflop);
         bh.consume(copy);
@@ -1,9 +1,20 @@
 package org.zafer.wflopcore.power;
 
+/**
+ * Uses the GE 1.5sle model unless the {@value #POWER_CURVE_PROPERTY} system
+ * property names a {@link PowerCurve} file or classpath resource, in which
+ * case that curve is served through a {@link TabulatedPowerModel}.
+ */
 public class DefaultPowerModelProvider implements PowerModelProvider {
 
+    public static final String POWER_CURVE_PROPERTY = "wflop.power.curve";
+
     @Override
     public PowerModel create() {
+        String powerCurve = System.getProperty(POWER_CURVE_PROPERTY);
+        if (powerCurve != null && !powerCurve.isBlank()) {
+            return TabulatedPowerModel.load(powerCurve);
+        }
         return new GEOnePointFiveSLEPowerModel();
     }
 }
@@ -0,0 +1,422 @@
+package org.zafer.wflopcore.power;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.zafer.wflopcore.wake.WakeModel;
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.wind.WindProfile;
+import org.zafer.wflopmodel.wind.WindRose;
+
+/**
+ * Mutable layout that keeps every turbine's wake deficit sum per wind
+ * direction, so that adding, removing or moving a single turbine costs
+ * O(N x directions) instead of the O(N^2 x directions) of a full
+ * {@link PowerCalculator} evaluation.
+ *
+ * <p>Changes are tentative until {@link #commit()} is called; {@link #rollback()}
+ * restores the layout as of the last commit from an undo log of the slots the
+ * changes touched, so neither costs more than the change itself. Every
+ * {@value #RESYNC_INTERVAL} commits the sums are recomputed from scratch, which
+ * bounds the rounding drift of the incremental updates over a long run.
+ * Instances are not thread-safe and are obtained through
+ * {@link PowerCalculator#createIncrementalState(TurbineLayout)}.
+ */
+public class IncrementalPowerState {
+
+    public static final int RESYNC_INTERVAL = 1024;
+
+    private final WakeModel wakeModel;
+    private final PowerModel powerModel;
+    private final WindProfile[] windProfiles;
+    private final double[] probabilities;
+    private final int profileCount;
+    // Deficit terms do not depend on the speed, so each direction is evaluated
+    // through the first profile that blows from it
+    private final int[] profileDirections;
+    private final WindProfile[] directionProfiles;
+    private final int directionCount;
+
+    // Turbine cells by slot, and the slot of each cell (-1 when empty)
+    private int[] turbines;
+    private final int[] slots;
+    private int size;
+
+    // Deficit sums as [slot][direction] and the resulting power per slot. The
+    // number of non-zero terms in each sum lets a sum whose last wake has left
+    // return to exactly zero: the speed takes the square root of the sum, which
+    // would blow the rounding residue of the subtraction up to a visible error.
+    private double[] deficits;
+    private int[] termCounts;
+    private double[] powers;
+    private double totalPower;
+
+    // Undo log of the changes since the last commit: every slot and cell is
+    // recorded with its committed contents the first time it changes, which
+    // the epoch stamps detect without clearing any per-slot state.
+    private int epoch = 1;
+    private int[] slotEpochs;
+    private int[] loggedSlots;
+    private int[] loggedTurbines;
+    private double[] loggedDeficits;
+    private int[] loggedTermCounts;
+    private double[] loggedPowers;
+    private int loggedSlotCount;
+    private final int[] cellEpochs;
+    private final int[] loggedCells;
+    private final int[] loggedCellSlots;
+    private int loggedCellCount;
+    private int committedSize;
+    private double committedTotalPower;
+    private boolean dirty;
+    private int commitsSinceResync;
+
+    IncrementalPowerState(
+            WakeModel wakeModel,
+            PowerModel powerModel,
+            WindRose windRose,
+            int cellCount,
+            TurbineLayout layout
+    ) {
+        this.wakeModel = wakeModel;
+        this.powerModel = powerModel;
+        this.windProfiles = windRose.getProfiles().toArray(new WindProfile[0]);
+        this.profileCount = this.windProfiles.length;
+        this.directionCount = windRose.getDirectionCount();
+
+        this.probabilities = new double[profileCount];
+        this.profileDirections = new int[profileCount];
+        this.directionProfiles = new WindProfile[directionCount];
+        for (int profile = 0; profile < profileCount; profile++) {
+            int direction = windRose.getDirection(profile);
+            probabilities[profile] = windRose.getProbability(profile);
+            profileDirections[profile] = direction;
+            if (directionProfiles[direction] == null) {
+                directionProfiles[direction] = windProfiles[profile];
+            }
+        }
+
+        int capacity = layout.size() + 1;
+        this.turbines = new int[capacity];
+        this.deficits = new double[capacity * directionCount];
+        this.termCounts = new int[capacity * directionCount];
+        this.powers = new double[capacity];
+        this.slotEpochs = new int[capacity];
+        this.loggedSlots = new int[capacity];
+        this.loggedTurbines = new int[capacity];
+        this.loggedDeficits = new double[capacity * directionCount];
+        this.loggedTermCounts = new int[capacity * directionCount];
+        this.loggedPowers = new double[capacity];
+
+        this.slots = new int[cellCount];
+        Arrays.fill(this.slots, -1);
+        this.cellEpochs = new int[cellCount];
+        this.loggedCells = new int[cellCount];
+        this.loggedCellSlots = new int[cellCount];
+
+        for (int cell : layout.getCells()) {
+            slots[cell] = size;
+            turbines[size++] = cell;
+        }
+        resync();
+    }
+
+    public double getTotalPower() {
+        return totalPower;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int cell) {
+        return slots[cell] >= 0;
+    }
+
+    public List<Integer> getTurbines() {
+        List<Integer> layout = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            layout.add(turbines[slot]);
+        }
+        return layout;
+    }
+
+    /**
+     * Places a turbine on an empty cell.
+     *
+     * @return the total power of the resulting layout
+     */
+    public double add(int cell) {
+        if (slots[cell] >= 0) {
+            throw new IllegalArgumentException("Cell already occupied: " + cell);
+        }
+        beginChange();
+        ensureCapacity(size + 1);
+
+        int slot = size++;
+        logSlot(slot);
+        logCell(cell);
+        turbines[slot] = cell;
+        slots[cell] = slot;
+        powers[slot] = 0.0;
+
+        for (int other = 0; other < size; other++) {
+            if (other != slot) {
+                shiftDeficits(other, cell, -1);
+            }
+        }
+        sumDeficits(slot);
+        updatePower(slot);
+        return totalPower;
+    }
+
+    /**
+     * Removes the turbine on the given cell.
+     *
+     * @return the total power of the resulting layout
+     */
+    public double remove(int cell) {
+        int slot = slots[cell];
+        if (slot < 0) {
+            throw new IllegalArgumentException("No turbine on cell: " + cell);
+        }
+        beginChange();
+
+        for (int other = 0; other < size; other++) {
+            if (other != slot) {
+                shiftDeficits(other, -1, cell);
+            }
+        }
+        logSlot(slot);
+        logCell(cell);
+        totalPower -= powers[slot];
+        slots[cell] = -1;
+
+        // Fill the gap with the last slot so the live slots stay contiguous
+        int last = --size;
+        if (slot != last) {
+            logSlot(last);
+            int lastCell = turbines[last];
+            logCell(lastCell);
+            turbines[slot] = lastCell;
+            slots[lastCell] = slot;
+            System.arraycopy(deficits, last * directionCount, deficits, slot * directionCount, directionCount);
+            System.arraycopy(termCounts, last * directionCount, termCounts, slot * directionCount, directionCount);
+            powers[slot] = powers[last];
+        }
+        return totalPower;
+    }
+
+    /**
+     * Moves the turbine on {@code from} to the empty cell {@code to}. The
+     * turbine keeps its slot, so only the turbines whose sums change are touched.
+     *
+     * @return the total power of the resulting layout
+     */
+    public double move(int from, int to) {
+        if (from == to) {
+            return totalPower;
+        }
+        int slot = slots[from];
+        if (slot < 0) {
+            throw new IllegalArgumentException("No turbine on cell: " + from);
+        }
+        if (slots[to] >= 0) {
+            throw new IllegalArgumentException("Cell already occupied: " + to);
+        }
+        beginChange();
+
+        logSlot(slot);
+        logCell(from);
+        logCell(to);
+        turbines[slot] = to;
+        slots[from] = -1;
+        slots[to] = slot;
+
+        for (int other = 0; other < size; other++) {
+            if (other != slot) {
+                shiftDeficits(other, to, from);
+            }
+        }
+        sumDeficits(slot);
+        updatePower(slot);
+        return totalPower;
+    }
+
+    /**
+     * Accepts every change made since the last commit or rollback.
+     */
+    public void commit() {
+        if (!dirty) {
+            return;
+        }
+
+        clearLog();
+        if (++commitsSinceResync >= RESYNC_INTERVAL) {
+            resync();
+        }
+    }
+
+    /**
+     * Discards every change made since the last commit.
+     */
+    public void rollback() {
+        if (!dirty) {
+            return;
+        }
+
+        for (int entry = 0; entry < loggedSlotCount; entry++) {
+            int slot = loggedSlots[entry];
+            turbines[slot] = loggedTurbines[entry];
+            System.arraycopy(loggedDeficits, entry * directionCount, deficits, slot * directionCount, directionCount);
+            System.arraycopy(loggedTermCounts, entry * directionCount, termCounts, slot * directionCount, directionCount);
+            powers[slot] = loggedPowers[entry];
+        }
+        for (int entry = 0; entry < loggedCellCount; entry++) {
+            slots[loggedCells[entry]] = loggedCellSlots[entry];
+        }
+        size = committedSize;
+        totalPower = committedTotalPower;
+        clearLog();
+    }
+
+    // Adds the terms of the turbine on cell {@code added} and removes those of
+    // the turbine on {@code removed} (-1 for none) from one slot's sums,
+    // logging and repricing the slot only when a sum actually changes
+    private void shiftDeficits(int slot, int added, int removed) {
+        int cell = turbines[slot];
+        int row = slot * directionCount;
+        boolean changed = false;
+        for (int direction = 0; direction < directionCount; direction++) {
+            WindProfile windProfile = directionProfiles[direction];
+            double addedTerm = added >= 0 ? wakeModel.calculateDeficit(cell, added, windProfile) : 0;
+            double removedTerm = removed >= 0 ? wakeModel.calculateDeficit(cell, removed, windProfile) : 0;
+            if (addedTerm == 0 && removedTerm == 0) continue;
+
+            if (!changed) {
+                logSlot(slot);
+                changed = true;
+            }
+            int count = termCounts[row + direction]
+                    + (addedTerm != 0 ? 1 : 0)
+                    - (removedTerm != 0 ? 1 : 0);
+            termCounts[row + direction] = count;
+            deficits[row + direction] = count == 0
+                    ? 0
+                    : deficits[row + direction] + addedTerm - removedTerm;
+        }
+        if (changed) {
+            updatePower(slot);
+        }
+    }
+
+    private void sumDeficits(int slot) {
+        int cell = turbines[slot];
+        int row = slot * directionCount;
+        for (int direction = 0; direction < directionCount; direction++) {
+            WindProfile windProfile = directionProfiles[direction];
+            double sum = 0;
+            int count = 0;
+            for (int other = 0; other < size; other++) {
+                double term = wakeModel.calculateDeficit(cell, turbines[other], windProfile);
+                if (term != 0) {
+                    sum += term;
+                    count++;
+                }
+            }
+            deficits[row + direction] = sum;
+            termCounts[row + direction] = count;
+        }
+    }
+
+    private void updatePower(int slot) {
+        int row = slot * directionCount;
+        double power = 0.0;
+        for (int profile = 0; profile < profileCount; profile++) {
+            double turbineSpeed = wakeModel.calculateEffectiveSpeed(
+                    deficits[row + profileDirections[profile]],
+                    windProfiles[profile]
+            );
+            power += probabilities[profile] * powerModel.getPowerOutput(turbineSpeed);
+        }
+        totalPower += power - powers[slot];
+        powers[slot] = power;
+    }
+
+    // Recomputes every sum and the total from the layout alone, discarding
+    // whatever rounding the incremental updates have accumulated
+    private void resync() {
+        totalPower = 0.0;
+        for (int slot = 0; slot < size; slot++) {
+            sumDeficits(slot);
+            powers[slot] = 0.0;
+            updatePower(slot);
+        }
+        commitsSinceResync = 0;
+    }
+
+    private void beginChange() {
+        if (dirty) {
+            return;
+        }
+
+        committedSize = size;
+        committedTotalPower = totalPower;
+        dirty = true;
+    }
+
+    private void logSlot(int slot) {
+        if (slotEpochs[slot] == epoch) {
+            return;
+        }
+
+        slotEpochs[slot] = epoch;
+        int entry = loggedSlotCount++;
+        loggedSlots[entry] = slot;
+        loggedTurbines[entry] = turbines[slot];
+        System.arraycopy(deficits, slot * directionCount, loggedDeficits, entry * directionCount, directionCount);
+        System.arraycopy(termCounts, slot * directionCount, loggedTermCounts, entry * directionCount, directionCount);
+        loggedPowers[entry] = powers[slot];
+    }
+
+    private void logCell(int cell) {
+        if (cellEpochs[cell] == epoch) {
+            return;
+        }
+
+        cellEpochs[cell] = epoch;
+        int entry = loggedCellCount++;
+        loggedCells[entry] = cell;
+        loggedCellSlots[entry] = slots[cell];
+    }
+
+    private void clearLog() {
+        loggedSlotCount = 0;
+        loggedCellCount = 0;
+        dirty = false;
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(slotEpochs, 0);
+            Arrays.fill(cellEpochs, 0);
+            epoch = 1;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= turbines.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, turbines.length * 2);
+        turbines = Arrays.copyOf(turbines, newCapacity);
+        deficits = Arrays.copyOf(deficits, newCapacity * directionCount);
+        termCounts = Arrays.copyOf(termCounts, newCapacity * directionCount);
+        powers = Arrays.copyOf(powers, newCapacity);
+        slotEpochs = Arrays.copyOf(slotEpochs, newCapacity);
+        loggedSlots = Arrays.copyOf(loggedSlots, newCapacity);
+        loggedTurbines = Arrays.copyOf(loggedTurbines, newCapacity);
+        loggedDeficits = Arrays.copyOf(loggedDeficits, newCapacity * directionCount);
+        loggedTermCounts = Arrays.copyOf(loggedTermCounts, newCapacity * directionCount);
+        loggedPowers = Arrays.copyOf(loggedPowers, newCapacity);
+    }
+}
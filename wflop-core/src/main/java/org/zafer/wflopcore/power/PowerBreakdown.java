@@ -0,0 +1,91 @@
+package org.zafer.wflopcore.power;
+
+import java.util.Arrays;
+
+/**
+ * Expected power of a layout split per turbine and per wind direction, from
+ * a single evaluation by {@link PowerCalculator#calculateBreakdown}. Turbine
+ * powers follow the layout's sorted cells, and {@link #getTurbinePowers(int[])}
+ * reorders them for callers holding the cells in another order; direction
+ * powers follow the distinct angles of the problem's wind rose and add up to
+ * the total.
+ */
+public class PowerBreakdown {
+
+    private final int[] turbines;
+    private final double[] turbinePowers;
+    private final int[] directionAngles;
+    private final double[] directionPowers;
+    private final double totalPower;
+
+    PowerBreakdown(
+            int[] turbines,
+            double[] turbinePowers,
+            int[] directionAngles,
+            double[] directionPowers,
+            double totalPower
+    ) {
+        this.turbines = turbines;
+        this.turbinePowers = turbinePowers;
+        this.directionAngles = directionAngles;
+        this.directionPowers = directionPowers;
+        this.totalPower = totalPower;
+    }
+
+    public int getTurbineCount() {
+        return turbines.length;
+    }
+
+    public int getTurbine(int index) {
+        return turbines[index];
+    }
+
+    public double getTurbinePower(int index) {
+        return turbinePowers[index];
+    }
+
+    public double[] getTurbinePowers() {
+        return Arrays.copyOf(turbinePowers, turbinePowers.length);
+    }
+
+    /**
+     * Powers of the given cells in the given order, which may be any
+     * permutation of the layout's cells.
+     */
+    public double[] getTurbinePowers(int[] cells) {
+        double[] powers = new double[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            powers[i] = turbinePowers[indexOf(cells[i])];
+        }
+        return powers;
+    }
+
+    // The cells are sorted, so a binary search maps a cell back to its position
+    private int indexOf(int cell) {
+        int index = Arrays.binarySearch(turbines, cell);
+        if (index < 0) {
+            throw new IllegalArgumentException("Cell " + cell + " is not in the layout");
+        }
+        return index;
+    }
+
+    public int getDirectionCount() {
+        return directionAngles.length;
+    }
+
+    public int getDirectionAngle(int direction) {
+        return directionAngles[direction];
+    }
+
+    public double getDirectionPower(int direction) {
+        return directionPowers[direction];
+    }
+
+    public double[] getDirectionPowers() {
+        return Arrays.copyOf(directionPowers, directionPowers.length);
+    }
+
+    public double getTotalPower() {
+        return totalPower;
+    }
+}
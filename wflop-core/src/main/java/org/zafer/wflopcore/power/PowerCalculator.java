@@ -4,14 +4,28 @@ import org.zafer.wflopcore.wake.*;
 import org.zafer.wflopmodel.problem.WFLOP;
 import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.wind.WindProfile;
+import org.zafer.wflopmodel.wind.WindRose;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+/**
+ * Immutable and thread-safe once constructed, so one instance (and its wake
+ * tables) can be shared by concurrent runs on the same problem.
+ */
 public class PowerCalculator {
 
     private final WakeModel wakeModel;
     private final PowerModel powerModel;
     private final WFLOP wflop;
+    private final WakeOptimization optimization;
+    private final ForkJoinPool evaluationPool;
+    private final double wakeModelBuildTime;
+
+    private static final double POWER_SCAN_STEP = 0.01;
+    private static final int BATCH_BLOCK_SIZE = 64;
 
     public PowerCalculator(WFLOP wflop) {
         this(
@@ -54,8 +68,21 @@ public class PowerCalculator {
             PowerModelProvider powerModelProvider
     ) {
         this.wflop = wflop;
+        this.optimization = optimization;
+        long start = System.nanoTime();
         this.wakeModel = wakeModelProvider.create(wflop, optimization);
+        this.wakeModelBuildTime = (System.nanoTime() - start) / 1e6;
         this.powerModel = powerModelProvider.create();
+        this.evaluationPool = ForkJoinPool.commonPool();
+    }
+
+    private PowerCalculator(PowerCalculator source, ForkJoinPool evaluationPool) {
+        this.wflop = source.wflop;
+        this.optimization = source.optimization;
+        this.wakeModel = source.wakeModel;
+        this.powerModel = source.powerModel;
+        this.evaluationPool = evaluationPool;
+        this.wakeModelBuildTime = source.wakeModelBuildTime;
     }
 
     /**
@@ -65,35 +92,294 @@ public class PowerCalculator {
      * @return totalPower: The total power output of the layout under the given wind conditions.
      */
     public double calculateTotalPower(TurbineLayout turbineLayout) {
-        List<Integer> turbines = turbineLayout.getTurbineIndices();
+        int turbineCount = turbineLayout.size();
+        WindRose windRose = wflop.getWindRose();
+        List<WindProfile> windProfiles = windRose.getProfiles();
+        int profileCount = windProfiles.size();
+
+        double[] speeds = new double[turbineCount * profileCount];
+        wakeModel.calculateEffectiveSpeeds(turbineLayout, windProfiles, speeds);
+        return totalPower(turbineCount, speeds);
+    }
+
+    private double totalPower(int turbineCount, double[] speeds) {
+        WindRose windRose = wflop.getWindRose();
+        int profileCount = windRose.getProfiles().size();
+
+        // Converted in place: the speeds are not needed once their power is known
+        double[] powers = speeds;
+        powerModel.getPowerOutputs(speeds, powers);
+
         double totalPower = 0;
-        for (int turbine : turbines) {
-            totalPower += calculatePower(turbine, turbines);
+        for (int i = 0; i < turbineCount; i++) {
+            double power = 0.0;
+            for (int profile = 0; profile < profileCount; profile++) {
+                power += windRose.getProbability(profile) * powers[i * profileCount + profile];
+            }
+            totalPower += power;
         }
         return totalPower;
     }
 
+    /**
+     * Evaluates the layout once, like {@link #calculateTotalPower(TurbineLayout)},
+     * and also keeps each turbine's expected power and each wind direction's
+     * share of the total.
+     */
+    public PowerBreakdown calculateBreakdown(TurbineLayout turbineLayout) {
+        int turbineCount = turbineLayout.size();
+        WindRose windRose = wflop.getWindRose();
+        List<WindProfile> windProfiles = windRose.getProfiles();
+        int profileCount = windProfiles.size();
+
+        double[] powers = new double[turbineCount * profileCount];
+        wakeModel.calculateEffectiveSpeeds(turbineLayout, windProfiles, powers);
+        powerModel.getPowerOutputs(powers, powers);
+
+        double[] turbinePowers = new double[turbineCount];
+        double[] directionPowers = new double[windRose.getDirectionCount()];
+        double totalPower = 0;
+        for (int i = 0; i < turbineCount; i++) {
+            double power = 0.0;
+            for (int profile = 0; profile < profileCount; profile++) {
+                double weighted = windRose.getProbability(profile) * powers[i * profileCount + profile];
+                power += weighted;
+                directionPowers[windRose.getDirection(profile)] += weighted;
+            }
+            turbinePowers[i] = power;
+            totalPower += power;
+        }
+
+        return new PowerBreakdown(
+                turbineLayout.toArray(),
+                turbinePowers,
+                windRose.getDirectionAngles(),
+                directionPowers,
+                totalPower
+        );
+    }
+
+    /**
+     * Evaluates every layout with {@link #calculateTotalPower(TurbineLayout)},
+     * spreading the work over the evaluation pool, and stores the results in
+     * {@code out} in input order. Each task hands the wake model a block of
+     * up to {@value #BATCH_BLOCK_SIZE} layouts at once, which models with a
+     * batch kernel evaluate together.
+     */
+    public void evaluateBatch(int[][] layouts, double[] out) {
+        evaluate(layouts.length, out, i -> new TurbineLayout(layouts[i]));
+    }
+
+    public void evaluateBatch(List<TurbineLayout> layouts, double[] out) {
+        evaluate(layouts.size(), out, layouts::get);
+    }
+
+    /**
+     * Returns a calculator sharing this one's models whose {@code evaluateBatch}
+     * runs on the given pool instead of the common pool. A pool with
+     * parallelism 1 keeps batches on the calling thread.
+     */
+    public PowerCalculator withEvaluationPool(ForkJoinPool evaluationPool) {
+        return new PowerCalculator(this, evaluationPool);
+    }
+
+    public WakeOptimization getWakeOptimization() {
+        return optimization;
+    }
+
+    public ForkJoinPool getEvaluationPool() {
+        return evaluationPool;
+    }
+
+    /**
+     * Milliseconds it took to build the wake model and its tables. Measured
+     * once when the model is built, so every run sharing this calculator
+     * through a {@link PowerCalculatorRegistry} reports the same build.
+     */
+    public double getWakeModelBuildTime() {
+        return wakeModelBuildTime;
+    }
+
+    private void evaluate(int count, double[] out, LayoutSource layouts) {
+        if (out.length < count) {
+            throw new IllegalArgumentException("Output array holds " + out.length +
+                    " values but the batch has " + count + " layouts");
+        }
+
+        // Small enough blocks that every worker of the pool still gets one
+        int parallelism = evaluationPool.getParallelism();
+        int blockSize = Math.max(1, Math.min(BATCH_BLOCK_SIZE, count / parallelism));
+        if (count <= blockSize || parallelism < 2) {
+            for (int from = 0; from < count; from += BATCH_BLOCK_SIZE) {
+                evaluateBlock(layouts, out, from, Math.min(count, from + BATCH_BLOCK_SIZE));
+            }
+            return;
+        }
+
+        evaluationPool.invoke(new BatchTask(layouts, out, 0, count, blockSize));
+    }
+
+    private void evaluateBlock(LayoutSource layouts, double[] out, int from, int to) {
+        List<WindProfile> windProfiles = wflop.getWindRose().getProfiles();
+        List<TurbineLayout> block = new ArrayList<>(to - from);
+        double[][] speeds = new double[to - from][];
+        for (int i = from; i < to; i++) {
+            TurbineLayout layout = layouts.get(i);
+            block.add(layout);
+            speeds[i - from] = new double[layout.size() * windProfiles.size()];
+        }
+
+        wakeModel.calculateBatchEffectiveSpeeds(block, windProfiles, speeds);
+        for (int i = 0; i < block.size(); i++) {
+            out[from + i] = totalPower(block.get(i).size(), speeds[i]);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LayoutSource {
+        TurbineLayout get(int index);
+    }
+
+    // Splits the batch in halves down to blocks; one evaluation is already
+    // O(N^2 x profiles), so finer-grained work would not pay off.
+    private class BatchTask extends RecursiveAction {
+
+        private final LayoutSource layouts;
+        private final double[] out;
+        private final int from;
+        private final int to;
+        private final int blockSize;
+
+        BatchTask(LayoutSource layouts, double[] out, int from, int to, int blockSize) {
+            this.layouts = layouts;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= blockSize) {
+                evaluateBlock(layouts, out, from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new BatchTask(layouts, out, from, middle, blockSize),
+                    new BatchTask(layouts, out, middle, to, blockSize)
+            );
+        }
+    }
+
     public double calculatePower(int turbine, List<Integer> turbines) {
-        List<WindProfile> windProfiles = wflop.getWindProfiles();
+        return calculatePower(turbine, new TurbineLayout(turbines));
+    }
+
+    /**
+     * Expected power of a turbine on the cell, waked by every turbine of the
+     * layout; the cell does not need to be part of it.
+     */
+    public double calculatePower(int turbine, TurbineLayout layout) {
+        WindRose windRose = wflop.getWindRose();
+        List<WindProfile> windProfiles = windRose.getProfiles();
+        double[] speeds = new double[windProfiles.size()];
+        wakeModel.calculateEffectiveSpeeds(turbine, layout.getCells(), windProfiles, speeds);
+
         double power = 0.0;
-        for (WindProfile windProfile : windProfiles) {
-            double turbineSpeed = wakeModel.calculateEffectiveSpeed(
-                turbine,
-                turbines,
-                windProfile
-            );
-            power += windProfile.getProbability() * powerModel.getPowerOutput(turbineSpeed);
+        for (int profile = 0; profile < speeds.length; profile++) {
+            power += windRose.getProbability(profile) * powerModel.getPowerOutput(speeds[profile]);
         }
         return power;
     }
 
+    /**
+     * Creates a mutable copy of the layout whose power can be updated
+     * incrementally as single turbines are added, removed or moved.
+     */
+    public IncrementalPowerState createIncrementalState(TurbineLayout turbines) {
+        return new IncrementalPowerState(
+                wakeModel,
+                powerModel,
+                wflop.getWindRose(),
+                wflop.getCellCount(),
+                turbines
+        );
+    }
+
+    /**
+     * Creates a field of the power a turbine would produce on every cell
+     * given the layout, which is updated incrementally as turbines move.
+     */
+    public PowerPotentialField createPotentialField(TurbineLayout turbines) {
+        return new PowerPotentialField(
+                wakeModel,
+                powerModel,
+                wflop.getWindRose(),
+                wflop.getCellCount(),
+                turbines
+        );
+    }
+
+    /**
+     * Upper bound on how far the total power of a layout of
+     * {@code turbineCount} turbines can be from the exact wake model's, for
+     * approximate modes such as {@link WakeOptimization#CUTOFF_SWEEP}; zero for
+     * exact ones. Each turbine's power can change at most by the largest step
+     * of the power curve within the wake model's speed error bound, found by
+     * sampling the curve every 0.01 m/s.
+     */
+    public double calculatePowerErrorBound(int turbineCount) {
+        double speedError = wakeModel.getSpeedErrorBound(turbineCount);
+        if (speedError == 0) {
+            return 0;
+        }
+
+        WindRose windRose = wflop.getWindRose();
+        double bound = 0;
+        for (WindProfile windProfile : windRose.getProfiles()) {
+            bound += windRose.getProbability(windProfile.getIndex())
+                * maxPowerChange(windProfile.getSpeed(), speedError);
+        }
+        return turbineCount * bound;
+    }
+
+    // Largest max - min of the sampled curve over any window of the given
+    // width within [0, maxSpeed], using monotonic deques of sample indices
+    private double maxPowerChange(double maxSpeed, double width) {
+        int samples = (int) Math.ceil(maxSpeed / POWER_SCAN_STEP) + 1;
+        int span = (int) Math.ceil(width / POWER_SCAN_STEP);
+        double[] powers = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            powers[i] = powerModel.getPowerOutput(Math.min(maxSpeed, i * POWER_SCAN_STEP));
+        }
+
+        int[] maxQueue = new int[samples];
+        int[] minQueue = new int[samples];
+        int maxHead = 0, maxTail = 0, minHead = 0, minTail = 0;
+        double change = 0;
+        for (int i = 0; i < samples; i++) {
+            while (maxTail > maxHead && powers[maxQueue[maxTail - 1]] <= powers[i]) maxTail--;
+            maxQueue[maxTail++] = i;
+            while (minTail > minHead && powers[minQueue[minTail - 1]] >= powers[i]) minTail--;
+            minQueue[minTail++] = i;
+
+            if (maxQueue[maxHead] < i - span) maxHead++;
+            if (minQueue[minHead] < i - span) minHead++;
+
+            change = Math.max(change, powers[maxQueue[maxHead]] - powers[minQueue[minHead]]);
+        }
+        return change;
+    }
+
     public double calculateTotalPowerWithoutWake(int turbineCount) {
-        List<WindProfile> windProfiles = wflop.getWindProfiles();
+        WindRose windRose = wflop.getWindRose();
         double power = 0.0;
-        for (WindProfile windProfile : windProfiles) {
+        for (WindProfile windProfile : windRose.getProfiles()) {
             double unreducedSpeed = windProfile.getSpeed();
             power += turbineCount
-                * windProfile.getProbability()
+                * windRose.getProbability(windProfile.getIndex())
                 * powerModel.getPowerOutput(unreducedSpeed);
         }
         return power;
@@ -0,0 +1,108 @@
+package org.zafer.wflopcore.power;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.zafer.wflopcore.wake.WakeMatrixCache;
+import org.zafer.wflopcore.wake.WakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+/**
+ * Shares one {@link PowerCalculator} per problem and wake optimization between
+ * every run holding a lease on that problem, so the wake tables are built
+ * once instead of once per run. Problems are keyed by their
+ * {@link WakeMatrixCache#fingerprint(WFLOP) fingerprint} together with the
+ * turbine count and wind profiles, which the fingerprint leaves out, and a
+ * problem's calculators are dropped as soon as its last lease is closed.
+ */
+public class PowerCalculatorRegistry {
+
+    private final WakeModelProvider wakeModelProvider;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public PowerCalculatorRegistry(WakeModelProvider wakeModelProvider) {
+        this.wakeModelProvider = wakeModelProvider;
+    }
+
+    /**
+     * Registers one more user of the problem. The returned lease must be
+     * closed once that user no longer needs its calculators.
+     */
+    public synchronized Lease acquire(WFLOP wflop) {
+        Entry entry = entries.computeIfAbsent(problemKey(wflop), key -> new Entry(key, wflop));
+        entry.references++;
+        return new Lease(entry);
+    }
+
+    /**
+     * Number of problems that currently have at least one open lease.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static String problemKey(WFLOP wflop) {
+        StringBuilder key = new StringBuilder(WakeMatrixCache.fingerprint(wflop))
+                .append('/').append(wflop.getNumberOfTurbines());
+        for (WindProfile windProfile : wflop.getWindProfiles()) {
+            key.append('/').append(windProfile.getSpeed())
+                    .append(',').append(windProfile.getAngle())
+                    .append(',').append(windProfile.getProbability());
+        }
+        return key.toString();
+    }
+
+    private synchronized void release(Entry entry) {
+        if (--entry.references == 0) {
+            entries.remove(entry.key);
+        }
+    }
+
+    private class Entry {
+
+        private final String key;
+        private final WFLOP wflop;
+        private final Map<WakeOptimization, PowerCalculator> calculators = new ConcurrentHashMap<>();
+        private int references;
+
+        Entry(String key, WFLOP wflop) {
+            this.key = key;
+            this.wflop = wflop;
+        }
+    }
+
+    public class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private boolean closed;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Returns the problem's shared calculator for the optimization,
+         * building it on first use.
+         */
+        public PowerCalculator get(WakeOptimization optimization) {
+            if (closed) {
+                throw new IllegalStateException("Lease has already been released");
+            }
+            return entry.calculators.computeIfAbsent(
+                    optimization,
+                    key -> new PowerCalculator(entry.wflop, wakeModelProvider, key)
+            );
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.zafer.wflopcore.power;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Manufacturer power curve as measured points: wind speed in m/s and the
+ * matching output in kW, with speeds strictly increasing. Output is zero
+ * below the first and above the last point.
+ */
+public class PowerCurve {
+
+    private final double[] speeds;
+    private final double[] powers;
+
+    @JsonCreator
+    public PowerCurve(
+        @JsonProperty("speeds") double[] speeds,
+        @JsonProperty("powers") double[] powers
+    ) {
+        if (speeds == null || powers == null || speeds.length != powers.length || speeds.length < 2) {
+            throw new IllegalArgumentException("Power curve needs at least two speed/power pairs");
+        }
+        for (int i = 1; i < speeds.length; i++) {
+            if (speeds[i] <= speeds[i - 1]) {
+                throw new IllegalArgumentException("Power curve speeds must be strictly increasing");
+            }
+        }
+        this.speeds = speeds.clone();
+        this.powers = powers.clone();
+    }
+
+    public double[] getSpeeds() {
+        return speeds.clone();
+    }
+
+    public double[] getPowers() {
+        return powers.clone();
+    }
+
+    /**
+     * Linear interpolation between the measured points.
+     */
+    public double interpolate(double speed) {
+        if (speed < speeds[0] || speed > speeds[speeds.length - 1]) {
+            return 0;
+        }
+
+        int upper = 1;
+        while (speeds[upper] < speed) {
+            upper++;
+        }
+        int lower = upper - 1;
+        double fraction = (speed - speeds[lower]) / (speeds[upper] - speeds[lower]);
+        return powers[lower] + fraction * (powers[upper] - powers[lower]);
+    }
+}
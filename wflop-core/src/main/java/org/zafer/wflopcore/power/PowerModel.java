@@ -3,4 +3,15 @@ package org.zafer.wflopcore.power;
 public interface PowerModel {
 
     double getPowerOutput(double speed);
+
+    /**
+     * Batch form of {@link #getPowerOutput(double)}: fills {@code out[i]} with
+     * the output at {@code speeds[i]} for every speed. {@code out} may be the
+     * same array as {@code speeds}.
+     */
+    default void getPowerOutputs(double[] speeds, double[] out) {
+        for (int i = 0; i < speeds.length; i++) {
+            out[i] = getPowerOutput(speeds[i]);
+        }
+    }
 }
@@ -0,0 +1,258 @@
+package org.zafer.wflopcore.power;
+
+import java.util.Arrays;
+
+import org.zafer.wflopcore.wake.WakeModel;
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.wind.WindProfile;
+import org.zafer.wflopmodel.wind.WindRose;
+
+/**
+ * Expected power a turbine would produce on every cell of the grid given the
+ * current layout, kept as one wake deficit sum per cell and wind direction.
+ * Adding or removing a turbine updates the sums in O(cells x directions), and
+ * only cells whose sum changed have their power recomputed on the next query.
+ *
+ * <p>Instances are not thread-safe and are obtained through
+ * {@link PowerCalculator#createPotentialField(TurbineLayout)}.
+ */
+public class PowerPotentialField {
+
+    /**
+     * Number of turbine additions and removals after which {@link #setLayout}
+     * rebuilds the sums from scratch, so rounding left behind by subtracting
+     * removed wakes cannot accumulate over a whole run.
+     */
+    public static final int REBUILD_INTERVAL = 1024;
+
+    private final WakeModel wakeModel;
+    private final PowerModel powerModel;
+    private final WindRose windRose;
+    private final int cellCount;
+    private final int directionCount;
+    // One profile per direction, used to look up the speed-independent deficits
+    private final WindProfile[] directionProfiles;
+
+    private final boolean[] occupied;
+    private int size;
+
+    // Deficit sums as [cell][direction], their non-zero term counts so a sum
+    // whose last wake has left returns to exactly zero, and the power per cell
+    private final double[] deficits;
+    private final int[] termCounts;
+    private final double[] powers;
+    private final boolean[] stale;
+    private int updatesSinceRebuild;
+
+    PowerPotentialField(
+            WakeModel wakeModel,
+            PowerModel powerModel,
+            WindRose windRose,
+            int cellCount,
+            TurbineLayout layout
+    ) {
+        this.wakeModel = wakeModel;
+        this.powerModel = powerModel;
+        this.windRose = windRose;
+        this.cellCount = cellCount;
+        this.directionCount = windRose.getDirectionCount();
+
+        this.directionProfiles = new WindProfile[directionCount];
+        for (WindProfile windProfile : windRose.getProfiles()) {
+            int direction = windRose.getDirection(windProfile.getIndex());
+            if (directionProfiles[direction] == null) {
+                directionProfiles[direction] = windProfile;
+            }
+        }
+
+        this.occupied = new boolean[cellCount];
+        this.deficits = new double[cellCount * directionCount];
+        this.termCounts = new int[cellCount * directionCount];
+        this.powers = new double[cellCount];
+        this.stale = new boolean[cellCount];
+        rebuild(layout);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int cell) {
+        return occupied[cell];
+    }
+
+    public void add(int cell) {
+        if (occupied[cell]) {
+            throw new IllegalArgumentException("Cell already occupied: " + cell);
+        }
+        occupied[cell] = true;
+        size++;
+        applyWake(cell, 1);
+    }
+
+    public void remove(int cell) {
+        if (!occupied[cell]) {
+            throw new IllegalArgumentException("Cell is empty: " + cell);
+        }
+        occupied[cell] = false;
+        size--;
+        applyWake(cell, -1);
+    }
+
+    /**
+     * Moves the field to the given layout by removing and adding only the
+     * cells that differ, or by rebuilding it when that would be cheaper or
+     * when {@link #REBUILD_INTERVAL} updates have been applied since the last
+     * rebuild.
+     */
+    public void setLayout(TurbineLayout layout) {
+        int changes = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (layout.contains(cell) != occupied[cell]) {
+                changes++;
+            }
+        }
+
+        if (changes > layout.size() || updatesSinceRebuild + changes > REBUILD_INTERVAL) {
+            rebuild(layout);
+            return;
+        }
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (occupied[cell] && !layout.contains(cell)) {
+                remove(cell);
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (!occupied[cell] && layout.contains(cell)) {
+                add(cell);
+            }
+        }
+    }
+
+    /**
+     * Expected power of a turbine on the cell, waked by every turbine of the
+     * layout (itself excluded).
+     */
+    public double getPower(int cell) {
+        if (stale[cell]) {
+            powers[cell] = computePower(cell);
+            stale[cell] = false;
+        }
+        return powers[cell];
+    }
+
+    /**
+     * Returns up to {@code count} empty cells with the highest power, best
+     * first, selected with a bounded min-heap instead of a full sort.
+     */
+    public int[] topFreeCells(int count) {
+        int capacity = Math.min(count, cellCount - size);
+        if (capacity <= 0) {
+            return new int[0];
+        }
+
+        int[] heapCells = new int[capacity];
+        double[] heapPowers = new double[capacity];
+        int heapSize = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (occupied[cell]) continue;
+
+            double power = getPower(cell);
+            if (heapSize < capacity) {
+                heapCells[heapSize] = cell;
+                heapPowers[heapSize] = power;
+                siftUp(heapCells, heapPowers, heapSize++);
+            } else if (power > heapPowers[0]) {
+                heapCells[0] = cell;
+                heapPowers[0] = power;
+                siftDown(heapCells, heapPowers, heapSize);
+            }
+        }
+
+        // Popping the minimum into the back leaves the cells sorted best first
+        for (int end = heapSize - 1; end > 0; end--) {
+            swap(heapCells, heapPowers, 0, end);
+            siftDown(heapCells, heapPowers, end);
+        }
+        return heapCells;
+    }
+
+    private void rebuild(TurbineLayout layout) {
+        Arrays.fill(occupied, false);
+        Arrays.fill(deficits, 0);
+        Arrays.fill(termCounts, 0);
+        Arrays.fill(stale, true);
+        size = 0;
+        for (int cell : layout.getCells()) {
+            add(cell);
+        }
+        updatesSinceRebuild = 0;
+    }
+
+    private void applyWake(int turbine, int sign) {
+        updatesSinceRebuild++;
+        for (int cell = 0; cell < cellCount; cell++) {
+            boolean changed = false;
+            for (int direction = 0; direction < directionCount; direction++) {
+                double deficit = wakeModel.calculateDeficit(cell, turbine, directionProfiles[direction]);
+                if (deficit != 0) {
+                    int index = cell * directionCount + direction;
+                    termCounts[index] += sign;
+                    deficits[index] = termCounts[index] == 0 ? 0 : deficits[index] + sign * deficit;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                stale[cell] = true;
+            }
+        }
+    }
+
+    private double computePower(int cell) {
+        double power = 0.0;
+        for (WindProfile windProfile : windRose.getProfiles()) {
+            int profile = windProfile.getIndex();
+            double deficitSum = deficits[cell * directionCount + windRose.getDirection(profile)];
+            double speed = wakeModel.calculateEffectiveSpeed(deficitSum, windProfile);
+            power += windRose.getProbability(profile) * powerModel.getPowerOutput(speed);
+        }
+        return power;
+    }
+
+    private static void siftUp(int[] cells, double[] powers, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(powers, cells, index, parent)) break;
+            swap(cells, powers, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] cells, double[] powers, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) break;
+
+            int smallest = left + 1 < size && less(powers, cells, left + 1, left) ? left + 1 : left;
+            if (!less(powers, cells, smallest, index)) break;
+            swap(cells, powers, index, smallest);
+            index = smallest;
+        }
+    }
+
+    // Lower power first; among equal powers the higher cell is evicted first
+    private static boolean less(double[] powers, int[] cells, int a, int b) {
+        return powers[a] < powers[b] || (powers[a] == powers[b] && cells[a] > cells[b]);
+    }
+
+    private static void swap(int[] cells, double[] powers, int a, int b) {
+        int cell = cells[a];
+        cells[a] = cells[b];
+        cells[b] = cell;
+        double power = powers[a];
+        powers[a] = powers[b];
+        powers[b] = power;
+    }
+}
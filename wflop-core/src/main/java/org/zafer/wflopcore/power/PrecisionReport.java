@@ -0,0 +1,98 @@
+package org.zafer.wflopcore.power;
+
+import java.util.Random;
+
+import org.zafer.wflopcore.wake.WakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.problem.WFLOP;
+
+/**
+ * Compares the total power of random layouts under a reference and a
+ * candidate wake optimization, typically {@link WakeOptimization#BOTH} against
+ * the single-precision {@link WakeOptimization#FLOAT_MATRICES}, to decide per
+ * problem whether the cheaper mode is accurate enough.
+ */
+public class PrecisionReport {
+
+    private final int layoutCount;
+    private final double maxRelativeDeviation;
+    private final double meanRelativeDeviation;
+
+    private PrecisionReport(int layoutCount, double maxRelativeDeviation, double meanRelativeDeviation) {
+        this.layoutCount = layoutCount;
+        this.maxRelativeDeviation = maxRelativeDeviation;
+        this.meanRelativeDeviation = meanRelativeDeviation;
+    }
+
+    /**
+     * Evaluates {@code layoutCount} uniformly random layouts of the problem's
+     * turbine count with both optimizations, drawn from the given seed.
+     */
+    public static PrecisionReport compare(
+            WFLOP wflop,
+            WakeModelProvider wakeModelProvider,
+            WakeOptimization reference,
+            WakeOptimization candidate,
+            int layoutCount,
+            long seed
+    ) {
+        if (layoutCount < 1) {
+            throw new IllegalArgumentException("Layout count must be positive: " + layoutCount);
+        }
+
+        int[][] layouts = randomLayouts(wflop, layoutCount, new Random(seed));
+        double[] expected = new double[layoutCount];
+        double[] actual = new double[layoutCount];
+        new PowerCalculator(wflop, wakeModelProvider, reference).evaluateBatch(layouts, expected);
+        new PowerCalculator(wflop, wakeModelProvider, candidate).evaluateBatch(layouts, actual);
+
+        double max = 0;
+        double sum = 0;
+        for (int i = 0; i < layoutCount; i++) {
+            double deviation = Math.abs(actual[i] - expected[i]) / Math.abs(expected[i]);
+            max = Math.max(max, deviation);
+            sum += deviation;
+        }
+        return new PrecisionReport(layoutCount, max, sum / layoutCount);
+    }
+
+    public int getLayoutCount() {
+        return layoutCount;
+    }
+
+    public double getMaxRelativeDeviation() {
+        return maxRelativeDeviation;
+    }
+
+    public double getMeanRelativeDeviation() {
+        return meanRelativeDeviation;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d layouts: max relative deviation %.3e, mean %.3e",
+                layoutCount, maxRelativeDeviation, meanRelativeDeviation);
+    }
+
+    // Partial Fisher-Yates shuffle of the cells, one per layout
+    private static int[][] randomLayouts(WFLOP wflop, int layoutCount, Random random) {
+        int cellCount = wflop.getCellCount();
+        int turbineCount = wflop.getNumberOfTurbines();
+        int[] cells = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            cells[cell] = cell;
+        }
+
+        int[][] layouts = new int[layoutCount][turbineCount];
+        for (int[] layout : layouts) {
+            for (int i = 0; i < turbineCount; i++) {
+                int j = i + random.nextInt(cellCount - i);
+                int swap = cells[i];
+                cells[i] = cells[j];
+                cells[j] = swap;
+                layout[i] = cells[i];
+            }
+        }
+        return layouts;
+    }
+}
@@ -0,0 +1,78 @@
+package org.zafer.wflopcore.power;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import org.zafer.wflopconfig.ConfigLoader;
+
+/**
+ * Power model backed by a {@link PowerCurve}. The curve is resampled once on a
+ * uniform speed grid, so a lookup is one index computation and one linear
+ * interpolation regardless of how many points the curve has. Speeds outside
+ * the curve, including NaN and infinities, produce no power.
+ */
+public class TabulatedPowerModel implements PowerModel {
+
+    public static final double DEFAULT_STEP = 0.01;
+
+    private final double minSpeed;
+    private final double maxSpeed;
+    private final double inverseStep;
+    private final double[] table;
+
+    public TabulatedPowerModel(PowerCurve curve) {
+        this(curve, DEFAULT_STEP);
+    }
+
+    public TabulatedPowerModel(PowerCurve curve, double step) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("Table step must be positive: " + step);
+        }
+
+        double[] speeds = curve.getSpeeds();
+        this.minSpeed = speeds[0];
+        this.maxSpeed = speeds[speeds.length - 1];
+
+        int intervals = (int) Math.ceil((maxSpeed - minSpeed) / step);
+        this.inverseStep = intervals / (maxSpeed - minSpeed);
+
+        // One extra sample so the last interval can always read its upper neighbour
+        this.table = new double[intervals + 2];
+        for (int i = 0; i <= intervals; i++) {
+            table[i] = curve.interpolate(Math.min(maxSpeed, minSpeed + i / inverseStep));
+        }
+        table[intervals + 1] = table[intervals];
+    }
+
+    public static TabulatedPowerModel load(String path) {
+        return new TabulatedPowerModel(ConfigLoader.load(path, new TypeReference<PowerCurve>() {}));
+    }
+
+    @Override
+    public double getPowerOutput(double speed) {
+        if (!(speed >= minSpeed && speed <= maxSpeed)) {
+            return 0;
+        }
+
+        double position = (speed - minSpeed) * inverseStep;
+        int index = (int) position;
+        double fraction = position - index;
+        return table[index] + fraction * (table[index + 1] - table[index]);
+    }
+
+    @Override
+    public void getPowerOutputs(double[] speeds, double[] out) {
+        double[] table = this.table;
+        for (int i = 0; i < speeds.length; i++) {
+            double speed = speeds[i];
+            if (!(speed >= minSpeed && speed <= maxSpeed)) {
+                out[i] = 0;
+                continue;
+            }
+
+            double position = (speed - minSpeed) * inverseStep;
+            int index = (int) position;
+            double fraction = position - index;
+            out[i] = table[index] + fraction * (table[index + 1] - table[index]);
+        }
+    }
+}
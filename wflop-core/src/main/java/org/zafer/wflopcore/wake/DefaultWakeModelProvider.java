@@ -4,8 +4,38 @@ import org.zafer.wflopmodel.problem.WFLOP;
 
 public class DefaultWakeModelProvider implements WakeModelProvider {
 
+    // The Vector API is an incubator module and must be added with --add-modules
+    private static final boolean VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final WakeMatrixCache matrixCache;
+
+    /**
+     * Uses the on-disk matrix cache when {@value WakeMatrixCache#DIRECTORY_PROPERTY}
+     * is set, and computes the matrices for every model otherwise.
+     */
+    public DefaultWakeModelProvider() {
+        this(WakeMatrixCache.fromSystemProperty());
+    }
+
+    public DefaultWakeModelProvider(WakeMatrixCache matrixCache) {
+        this.matrixCache = matrixCache;
+    }
+
+    /**
+     * Returns the model's kernel for the optimization rather than the model
+     * itself, sparing every evaluation the model's delegating call.
+     */
     @Override
     public WakeModel create(WFLOP wflop, WakeOptimization optimization) {
-        return new JensenWakeModel(wflop, optimization);
+        JensenWakeModel wakeModel = new JensenWakeModel(wflop, optimization, matrixCache);
+        if (optimization.useVectorKernel() && VECTOR_API_AVAILABLE) {
+            return new VectorWakeModel(wakeModel);
+        }
+        return wakeModel.getKernel();
+    }
+
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
     }
 }
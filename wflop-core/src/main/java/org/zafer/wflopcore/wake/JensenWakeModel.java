@@ -1,9 +1,12 @@
 package org.zafer.wflopcore.wake;
 
+import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.problem.WFLOP;
 import org.zafer.wflopmodel.wind.WindProfile;
+import org.zafer.wflopmodel.wind.WindRose;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class JensenWakeModel implements WakeModel {
 
@@ -13,160 +16,790 @@ public class JensenWakeModel implements WakeModel {
     // 2. Optimization Toggles
     private final boolean useDistanceMatrix;
     private final boolean useIntersectedAreaMatrix;
+    private final boolean useOffsetTable;
+    private final boolean useDeficitTable;
+    private final boolean useSparseInfluence;
+    private final boolean useLazyRows;
+    private final boolean useFloatMatrices;
+    private final boolean useUpwindSweep;
+    private final boolean useWakeCutoff;
 
     // 3. Cached Data Structures
-    private final double[][][][] distanceMatrix;
-    private final double[][][] intersectedAreaMatrix;
+    // Every table is indexed by wind direction rather than by profile: the
+    // deficit term does not depend on the speed, so profiles sharing an angle
+    // share their geometry and their deficit sums.
+    // Flat, stride-indexed as [turbine][direction][upwind]; the distance matrix
+    // stores the two rotated components of each entry next to each other.
+    private final double[] distanceMatrix;
+    private final double[] intersectedAreaMatrix;
+    // The same matrices when served from the on-disk cache; each matrix is
+    // either on the heap or mapped, never both.
+    private final WakeMatrix mappedDistanceMatrix;
+    private final WakeMatrix mappedIntersectedAreaMatrix;
+    // Single-precision [turbine][direction][upwind] matrices of the rotated
+    // downwind distance and the overlap area; the crosswind part is not needed
+    // once the area is known.
+    private final float[] floatDistanceMatrix;
+    private final float[] floatAreaMatrix;
+    // Translation-invariant tables indexed as [direction][offsetY][offsetX],
+    // where the offset is the upwind cell minus the turbine cell.
+    private final double[] offsetDistanceTable;
+    private final double[] offsetAreaTable;
+    // Fused per-offset coefficient (1 - single / baseSpeed)^2 * overlap / area,
+    // which is independent of the wind speed; same layout as the offset tables.
+    private final double[] deficitTable;
+    private final int[] cellOffsetIndex;
+    // Compressed sparse rows, one per [turbine][direction]: the upwind cells with a
+    // non-zero deficit coefficient, in ascending order, and those coefficients.
+    private final int[] influenceRowStart;
+    private final int[] influenceCells;
+    private final double[] influenceDeficits;
+    // The same rows when served from the on-disk cache, all three or none
+    private final WakeIndex mappedInfluenceRowStart;
+    private final WakeIndex mappedInfluenceCells;
+    private final WakeMatrix mappedInfluenceDeficits;
+    // Cell centres rotated into each wind direction, as [direction][cell][x, y];
+    // the rotated offset between two cells is the difference of their entries.
+    // Always built, since it only costs cellCount x directions entries.
+    private final double[] rotatedCoordinates;
+    // Rank of every cell along each direction as [direction][cell], rank 0
+    // being the furthest upwind; sorting a layout by rank orders it for a sweep
+    private final int[] sweepRank;
+    // Bilinear overlap lookup for INTERPOLATED_OVERLAP, or null for the exact formula
+    private final OverlapAreaTable overlapTable;
+    // Lazily computed rows keyed by turbine * directionCount + direction, holding
+    // (rotatedY, overlap) for every upwind cell
+    private final WakeRowCache rowCache;
+    // Pair loops over the tables of this model's mode
+    private final WakeKernel kernel;
 
     // 4. Model Constants (Physical Parameters)
     private final double rotorRadius;
     private final double turbineSurfaceArea;
     private final double inverseTurbineSurfaceArea;
     private final double entrainmentConstant;
+    // Largest pair term a CUTOFF_SWEEP may drop, and the downwind distance
+    // beyond which every term is that small; infinite in exact modes
+    private final double cutoffTolerance;
+    private final double cutoffDistance;
 
     // 5. Dimensionality and Grid
     private final int dimension;
     private final double gridWidth;
+    private final int cellCount;
+    private final int offsetSpan;
+
+    // Profile indexing and angle dedupe come from the problem's own wind rose
+    private final WindRose windRose;
+    private final int[] directionAngles;
+    private final double[] directionCosines;
+    private final double[] directionSines;
+    private final int directionCount;
 
     // 6. Implementation Constants (Index Helpers)
     private static final int indX = 0;
     private static final int indY = 1;
 
+    public static final String LAZY_ROWS_MAX_BYTES_PROPERTY = "wflop.lazyRows.maxBytes";
+    static final long DEFAULT_LAZY_ROWS_MAX_BYTES = 256L << 20;
+
+    public static final String CUTOFF_TOLERANCE_PROPERTY = "wflop.wake.cutoffTolerance";
+    public static final double DEFAULT_CUTOFF_TOLERANCE = 1e-6;
+
+    public static final String OVERLAP_TABLE_SIZE_PROPERTY = "wflop.wake.overlapTableSize";
+    public static final int DEFAULT_OVERLAP_TABLE_SIZE = 512;
+
     public JensenWakeModel(WFLOP wflop, WakeOptimization optimization) {
+        this(wflop, optimization, null);
+    }
+
+    /**
+     * @param matrixCache where to load and store the per-pair matrices, or
+     *                    {@code null} to always compute them
+     */
+    public JensenWakeModel(WFLOP wflop, WakeOptimization optimization, WakeMatrixCache matrixCache) {
+        this(wflop, optimization, matrixCache, optimization.useWakeCutoff()
+                ? cutoffToleranceFromSystemProperty()
+                : DEFAULT_CUTOFF_TOLERANCE);
+    }
+
+    /**
+     * @param cutoffTolerance largest wake term a {@link WakeOptimization#CUTOFF_SWEEP}
+     *                        may drop for a single pair; ignored, and not
+     *                        validated, by the other modes
+     */
+    public JensenWakeModel(
+            WFLOP wflop,
+            WakeOptimization optimization,
+            WakeMatrixCache matrixCache,
+            double cutoffTolerance
+    ) {
+        if (optimization.useWakeCutoff() && !(cutoffTolerance > 0)) {
+            throw new IllegalArgumentException("Cut-off tolerance must be positive: " + cutoffTolerance);
+        }
         this.wflop = wflop;
 
         this.useDistanceMatrix = optimization.useDistanceMatrix();
         this.useIntersectedAreaMatrix = optimization.useIntersectionMatrix();
+        this.useOffsetTable = optimization.useOffsetTable();
+        this.useDeficitTable = optimization.useDeficitTable();
+        this.useSparseInfluence = optimization.useSparseInfluence();
+        this.useLazyRows = optimization.useLazyRows();
+        this.useFloatMatrices = optimization.useFloatMatrices();
+        this.useUpwindSweep = optimization.useUpwindSweep();
+        this.useWakeCutoff = optimization.useWakeCutoff();
 
         this.rotorRadius = wflop.getRotorRadius();
         this.turbineSurfaceArea = Math.PI * rotorRadius * rotorRadius;
         this.inverseTurbineSurfaceArea = 1.0 / turbineSurfaceArea;
         this.entrainmentConstant = wflop.getEntrainmentConstant();
+        this.cutoffTolerance = useWakeCutoff ? cutoffTolerance : 0;
+        this.cutoffDistance = useWakeCutoff ? cutoffDistance(cutoffTolerance) : Double.POSITIVE_INFINITY;
 
         this.dimension = wflop.getDimension();
         this.gridWidth = wflop.getGridWidth();
+        this.cellCount = wflop.getCellCount();
+        this.offsetSpan = 2 * dimension - 1;
+
+        this.windRose = wflop.getWindRose();
+        this.directionAngles = windRose.getDirectionAngles();
+        this.directionCount = windRose.getDirectionCount();
+
+        this.directionCosines = new double[directionCount];
+        this.directionSines = new double[directionCount];
+        for (int direction = 0; direction < directionCount; direction++) {
+            double rad = Math.toRadians(directionAngles[direction]);
+            directionCosines[direction] = Math.cos(rad);
+            directionSines[direction] = Math.sin(rad);
+        }
+
+        this.rotatedCoordinates = initializeRotatedCoordinates();
+
+        this.sweepRank = useUpwindSweep
+                ? initializeSweepRank()
+                : null;
+
+        // Every pair of cells lies within the grid's diagonal of each other
+        this.overlapTable = optimization.useOverlapTable()
+                ? new OverlapAreaTable(rotorRadius, entrainmentConstant, dimension * gridWidth * Math.sqrt(2),
+                        Integer.getInteger(OVERLAP_TABLE_SIZE_PROPERTY, DEFAULT_OVERLAP_TABLE_SIZE))
+                : null;
+
+        this.cellOffsetIndex = useOffsetTable || useDeficitTable || useSparseInfluence
+                ? initializeCellOffsetIndex()
+                : null;
+
+        double[] distances = null;
+        WakeMatrix mappedDistances = null;
+        if (useDistanceMatrix) {
+            mappedDistances = readMatrix(matrixCache, "distance");
+            if (mappedDistances == null) {
+                distances = initializeDistanceMatrix();
+                mappedDistances = publish(matrixCache, "distance", distances);
+            }
+        }
+        // Once the file is mapped the computed array is dropped
+        this.mappedDistanceMatrix = mappedDistances;
+        this.distanceMatrix = mappedDistances == null ? distances : null;
+
+        double[] areas = null;
+        WakeMatrix mappedAreas = null;
+        if (useIntersectedAreaMatrix) {
+            mappedAreas = readMatrix(matrixCache, "area");
+            if (mappedAreas == null) {
+                areas = initializeIntersectedAreaMatrix();
+                mappedAreas = publish(matrixCache, "area", areas);
+            }
+        }
+        this.mappedIntersectedAreaMatrix = mappedAreas;
+        this.intersectedAreaMatrix = mappedAreas == null ? areas : null;
 
-        this.distanceMatrix = useDistanceMatrix
-                ? initializeDistanceMatrix()
+        if (useFloatMatrices) {
+            this.floatDistanceMatrix = new float[matrixLength(1)];
+            this.floatAreaMatrix = new float[matrixLength(1)];
+            initializeFloatMatrices();
+        } else {
+            this.floatDistanceMatrix = null;
+            this.floatAreaMatrix = null;
+        }
+
+        this.offsetDistanceTable = useOffsetTable
+                ? initializeOffsetDistanceTable()
+                : null;
+
+        this.offsetAreaTable = useOffsetTable
+                ? initializeOffsetAreaTable(offsetDistanceTable)
+                : null;
+
+        this.deficitTable = useDeficitTable
+                ? initializeDeficitTable()
                 : null;
 
-        this.intersectedAreaMatrix = useIntersectedAreaMatrix
-                ? initializeIntersectedAreaMatrix()
+        int[] rowStart = null;
+        int[] cells = null;
+        double[] deficits = null;
+        WakeIndex mappedRowStart = null;
+        WakeIndex mappedCells = null;
+        WakeMatrix mappedDeficits = null;
+        if (useSparseInfluence) {
+            mappedRowStart = readIndex(matrixCache, "influence-rows");
+            mappedCells = readIndex(matrixCache, "influence-cells");
+            mappedDeficits = readMatrix(matrixCache, "influence-deficits");
+            if (mappedRowStart == null || mappedCells == null || mappedDeficits == null) {
+                double[] offsetDeficits = initializeDeficitTable();
+                rowStart = initializeInfluenceRowStart(offsetDeficits);
+                int entries = rowStart[rowStart.length - 1];
+                cells = new int[entries];
+                deficits = new double[entries];
+                for (int turbine = 0; turbine < cellCount; turbine++) {
+                    for (int direction = 0; direction < directionCount; direction++) {
+                        collectInfluences(turbine, direction, offsetDeficits, cells, deficits,
+                                rowStart[turbine * directionCount + direction]);
+                    }
+                }
+
+                boolean published = matrixCache != null
+                        && matrixCache.write(wflop, "influence-rows", rowStart)
+                        && matrixCache.write(wflop, "influence-cells", cells)
+                        && matrixCache.write(wflop, "influence-deficits", deficits);
+                mappedRowStart = published ? readIndex(matrixCache, "influence-rows") : null;
+                mappedCells = published ? readIndex(matrixCache, "influence-cells") : null;
+                mappedDeficits = published ? readMatrix(matrixCache, "influence-deficits") : null;
+            }
+        }
+        boolean sparseMapped = mappedRowStart != null && mappedCells != null && mappedDeficits != null;
+        this.mappedInfluenceRowStart = sparseMapped ? mappedRowStart : null;
+        this.mappedInfluenceCells = sparseMapped ? mappedCells : null;
+        this.mappedInfluenceDeficits = sparseMapped ? mappedDeficits : null;
+        this.influenceRowStart = sparseMapped ? null : rowStart;
+        this.influenceCells = sparseMapped ? null : cells;
+        this.influenceDeficits = sparseMapped ? null : deficits;
+
+        this.rowCache = useLazyRows
+                ? new WakeRowCache(lazyRowCapacity(), this::computeGeometryRow)
                 : null;
+
+        // Built last, since the kernel reads the finished tables
+        this.kernel = WakeKernel.create(this, optimization);
+    }
+
+    /**
+     * Hit, miss and eviction counters of the {@link WakeOptimization#LAZY_ROWS}
+     * row cache, or {@code null} in every other mode.
+     */
+    public WakeRowCache getRowCache() {
+        return rowCache;
+    }
+
+    /**
+     * The {@link WakeOptimization#INTERPOLATED_OVERLAP} table, whose
+     * {@link OverlapAreaTable#measureError()} reports its accuracy, or
+     * {@code null} in every other mode.
+     */
+    public OverlapAreaTable getOverlapTable() {
+        return overlapTable;
+    }
+
+    /**
+     * Downwind distance beyond which {@link WakeOptimization#CUTOFF_SWEEP}
+     * ignores upwind turbines, or infinity in every other mode.
+     */
+    public double getCutoffDistance() {
+        return cutoffDistance;
+    }
+
+    /**
+     * Each ignored turbine lowers a deficit sum by at most the tolerance, and
+     * {@code sqrt(S) - sqrt(S - d) <= sqrt(d)}, so no speed rises by more than
+     * the base speed times the square root of the ignored total.
+     */
+    @Override
+    public double getSpeedErrorBound(int turbineCount) {
+        if (!useWakeCutoff || turbineCount < 2) {
+            return 0;
+        }
+
+        double maxSpeed = 0;
+        for (WindProfile windProfile : windRose.getProfiles()) {
+            maxSpeed = Math.max(maxSpeed, windProfile.getSpeed());
+        }
+        return maxSpeed * Math.sqrt((turbineCount - 1) * cutoffTolerance);
     }
 
+    @Override
     public double calculateEffectiveSpeed(
             int turbine,
-            List<Integer> turbines,
+            int[] turbines,
             WindProfile windProfile
     ) {
-        int angle = windProfile.getAngle();
+        return kernel.calculateEffectiveSpeed(turbine, turbines, windProfile);
+    }
+
+    @Override
+    public double calculateDeficit(int turbine, int upwind, WindProfile windProfile) {
+        return kernel.calculateDeficit(turbine, upwind, windProfile);
+    }
+
+    @Override
+    public double calculateEffectiveSpeed(double deficitSum, WindProfile windProfile) {
         double baseSpeed = windProfile.getSpeed();
 
-        double sum = 0;
-        for (int upwind : turbines) {
-            double[] rotated = useDistanceMatrix && distanceMatrix != null
-                    ? distanceMatrix[turbine][upwind][windProfile.getIndex()]
-                    : computeRotatedDistance(turbine, upwind, angle);
+        // Incremental callers add and subtract terms, so allow for rounding below zero
+        if (deficitSum <= 0) return baseSpeed;
 
-            if (rotated[indY] <= 0) continue;
+        return baseSpeed * (1 - Math.sqrt(deficitSum));
+    }
 
-            double single = calculateSingleWakeSpeed(rotated[indY], baseSpeed);
-            double overlap = useIntersectedAreaMatrix && intersectedAreaMatrix != null
-                    ? intersectedAreaMatrix[turbine][upwind][windProfile.getIndex()]
-                    : computeIntersectedArea(rotated[indX], rotated[indY]);
+    @Override
+    public void calculateEffectiveSpeeds(
+            int turbine,
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        kernel.calculateEffectiveSpeeds(turbine, turbines, windProfiles, speeds);
+    }
 
-            double ratio = 1 - single / baseSpeed;
-            sum += ratio * ratio * (overlap * inverseTurbineSurfaceArea);
-        }
+    @Override
+    public void calculateEffectiveSpeeds(
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        kernel.calculateEffectiveSpeeds(turbines, windProfiles, speeds);
+    }
 
-        if (sum == 0) return baseSpeed;
+    @Override
+    public void calculateEffectiveSpeeds(
+            TurbineLayout layout,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        kernel.calculateEffectiveSpeeds(layout, windProfiles, speeds);
+    }
+
+    @Override
+    public void calculateBatchEffectiveSpeeds(
+            List<TurbineLayout> layouts,
+            List<WindProfile> windProfiles,
+            double[][] speeds
+    ) {
+        kernel.calculateBatchEffectiveSpeeds(layouts, windProfiles, speeds);
+    }
+
+    // (1 - single / baseSpeed)^2 * overlap / area, which does not depend on the wind speed
+    double deficitTerm(double rotatedY, double overlap) {
+        if (rotatedY <= 0) return 0;
 
-        return baseSpeed * (1 - Math.sqrt(sum));
+        double ratio = calculateSingleWakeDeficit(rotatedY);
+        return ratio * ratio * (overlap * inverseTurbineSurfaceArea);
     }
 
-    private double calculateSingleWakeSpeed(double yDist, double baseSpeed) {
+    // Speed-independent form of 1 - singleWakeSpeed / baseSpeed
+    private double calculateSingleWakeDeficit(double yDist) {
         double wakeRadius = rotorRadius + entrainmentConstant * yDist;
         double ratio = rotorRadius / wakeRadius;
-        return baseSpeed * (1 - ratio * ratio * 2 / 3);
-    }
-
-    private double[][][][] initializeDistanceMatrix() {
-        List<WindProfile> windProfiles = wflop.getWindProfiles();
-        final int angleCount = WindProfile.getAngleCount();
-        int cellCount = wflop.getCellCount();
-        double[][][][] matrix = new double[cellCount][cellCount][angleCount][2];
-        for (int i = 0; i < cellCount; i++) {
-            for (int j = 0; j < cellCount; j++) {
-                for (WindProfile windProfile : windProfiles) {
-                    matrix[i][j][windProfile.getIndex()] = computeRotatedDistance(i, j, windProfile.getAngle());
+        return ratio * ratio * 2 / 3;
+    }
+
+    /**
+     * The kernel that evaluates layouts over this model's tables; every
+     * evaluation method of the model delegates to it.
+     */
+    WakeKernel getKernel() {
+        return kernel;
+    }
+
+    // Package-private access to the tables for specialized kernels
+    double[] getDeficitTable() {
+        return deficitTable;
+    }
+
+    int[] getCellOffsetIndex() {
+        return cellOffsetIndex;
+    }
+
+    double[] getDistanceMatrix() {
+        return distanceMatrix;
+    }
+
+    double[] getIntersectedAreaMatrix() {
+        return intersectedAreaMatrix;
+    }
+
+    WakeMatrix getMappedDistanceMatrix() {
+        return mappedDistanceMatrix;
+    }
+
+    WakeMatrix getMappedIntersectedAreaMatrix() {
+        return mappedIntersectedAreaMatrix;
+    }
+
+    float[] getFloatDistanceMatrix() {
+        return floatDistanceMatrix;
+    }
+
+    float[] getFloatAreaMatrix() {
+        return floatAreaMatrix;
+    }
+
+    double[] getOffsetDistanceTable() {
+        return offsetDistanceTable;
+    }
+
+    double[] getOffsetAreaTable() {
+        return offsetAreaTable;
+    }
+
+    int[] getInfluenceRowStart() {
+        return influenceRowStart;
+    }
+
+    int[] getInfluenceCells() {
+        return influenceCells;
+    }
+
+    double[] getInfluenceDeficits() {
+        return influenceDeficits;
+    }
+
+    WakeIndex getMappedInfluenceRowStart() {
+        return mappedInfluenceRowStart;
+    }
+
+    WakeIndex getMappedInfluenceCells() {
+        return mappedInfluenceCells;
+    }
+
+    WakeMatrix getMappedInfluenceDeficits() {
+        return mappedInfluenceDeficits;
+    }
+
+    double[] getRotatedCoordinates() {
+        return rotatedCoordinates;
+    }
+
+    int[] getSweepRank() {
+        return sweepRank;
+    }
+
+    int getCellCount() {
+        return cellCount;
+    }
+
+    int directionOf(WindProfile windProfile) {
+        return windRose.getDirection(windProfile.getIndex());
+    }
+
+    int getDirectionCount() {
+        return directionCount;
+    }
+
+    int rowOffset(int turbine, int direction) {
+        return (turbine * directionCount + direction) * cellCount;
+    }
+
+    // Shifting the base by (dimension - 1) in both axes keeps offsets non-negative,
+    // so adding cellOffsetIndex[upwind] lands on the (upwind - turbine) entry.
+    int offsetBase(int turbine, int direction) {
+        return direction * offsetSpan * offsetSpan
+                - (turbine / dimension - dimension + 1) * offsetSpan
+                - (turbine % dimension - dimension + 1);
+    }
+
+    private int matrixLength(int componentsPerEntry) {
+        long length = (long) cellCount * cellCount * directionCount * componentsPerEntry;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Wake matrix with " + length + " entries exceeds the maximum " +
+                    "array size; use a lighter WakeOptimization for this problem");
+        }
+        return (int) length;
+    }
+
+    private WakeMatrix readMatrix(WakeMatrixCache matrixCache, String name) {
+        return matrixCache != null ? matrixCache.readMatrix(wflop, name) : null;
+    }
+
+    private WakeIndex readIndex(WakeMatrixCache matrixCache, String name) {
+        return matrixCache != null ? matrixCache.readIndex(wflop, name) : null;
+    }
+
+    // Writes the computed matrix and maps it back, or returns null when there is
+    // no cache or the file could not be published
+    private WakeMatrix publish(WakeMatrixCache matrixCache, String name, double[] matrix) {
+        return matrixCache != null && matrixCache.write(wflop, name, matrix)
+                ? matrixCache.readMatrix(wflop, name)
+                : null;
+    }
+
+    // Rows of different turbines are disjoint, so they are filled in parallel on
+    // the common fork/join pool; every entry is computed exactly as before.
+    private double[] initializeDistanceMatrix() {
+        double[] matrix = new double[matrixLength(2)];
+        IntStream.range(0, cellCount).parallel().forEach(i -> {
+            for (int direction = 0; direction < directionCount; direction++) {
+                int row = rowOffset(i, direction);
+                for (int j = 0; j < cellCount; j++) {
+                    computeRotatedDistance(i, j, direction, matrix, (row + j) * 2);
                 }
             }
-        }
+        });
         return matrix;
     }
 
-    private double[][][] initializeIntersectedAreaMatrix() {
-        List<WindProfile> windProfiles = wflop.getWindProfiles();
-        final int angleCount = WindProfile.getAngleCount();
-        int cellCount = wflop.getCellCount();
-        double[][][] matrix = new double[cellCount][cellCount][angleCount];
-        for (int i = 0; i < cellCount; i++) {
-            for (int j = 0; j < cellCount; j++) {
-                for (WindProfile windProfile : windProfiles) {
-                    double[] dist = useDistanceMatrix && distanceMatrix != null
-                            ? distanceMatrix[i][j][windProfile.getIndex()]
-                            : computeRotatedDistance(i, j, windProfile.getAngle());
-                    matrix[i][j][windProfile.getIndex()] = computeIntersectedArea(dist[indX], dist[indY]);
+    private double[] initializeIntersectedAreaMatrix() {
+        double[] matrix = new double[matrixLength(1)];
+        IntStream.range(0, cellCount).parallel().forEach(i -> {
+            double[] dist = new double[2];
+            for (int direction = 0; direction < directionCount; direction++) {
+                int row = rowOffset(i, direction);
+                for (int j = 0; j < cellCount; j++) {
+                    double dx;
+                    double dy;
+                    if (useDistanceMatrix && distanceMatrix != null) {
+                        int entry = (row + j) * 2;
+                        dx = distanceMatrix[entry + indX];
+                        dy = distanceMatrix[entry + indY];
+                    } else {
+                        computeRotatedDistance(i, j, direction, dist, 0);
+                        dx = dist[indX];
+                        dy = dist[indY];
+                    }
+                    matrix[row + j] = computeIntersectedArea(dx, dy);
                 }
             }
-        }
+        });
         return matrix;
     }
 
-    private double[] computeRotatedDistance(int from, int to, int angle) {
-        double x1 = (from % dimension + 0.5) * gridWidth;
-        double y1 = ((double) from / dimension + 0.5) * gridWidth;
-        double x2 = (to % dimension + 0.5) * gridWidth;
-        double y2 = ((double) to / dimension + 0.5) * gridWidth;
+    // The area is computed from the full-precision geometry and rounded once,
+    // so the only error is the final narrowing of each stored value.
+    private void initializeFloatMatrices() {
+        IntStream.range(0, cellCount).parallel().forEach(i -> {
+            double[] dist = new double[2];
+            for (int direction = 0; direction < directionCount; direction++) {
+                int row = rowOffset(i, direction);
+                for (int j = 0; j < cellCount; j++) {
+                    computeRotatedDistance(i, j, direction, dist, 0);
+                    floatDistanceMatrix[row + j] = (float) dist[indY];
+                    floatAreaMatrix[row + j] = (float) computeIntersectedArea(dist[indX], dist[indY]);
+                }
+            }
+        });
+    }
 
-        double dx = x2 - x1;
-        double dy = y2 - y1;
+    private static double cutoffToleranceFromSystemProperty() {
+        String configured = System.getProperty(CUTOFF_TOLERANCE_PROPERTY);
+        if (configured == null) {
+            return DEFAULT_CUTOFF_TOLERANCE;
+        }
+        try {
+            return Double.parseDouble(configured);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Invalid " + CUTOFF_TOLERANCE_PROPERTY + ": " + configured, e);
+        }
+    }
 
-        double rad = Math.toRadians(angle);
-        double cos = Math.cos(rad);
-        double sin = Math.sin(rad);
+    // A pair term is at most (2/3)^2 (r / (r + k y))^4, the overlap being at
+    // most the rotor area; solve that for the distance where it meets the tolerance
+    private double cutoffDistance(double tolerance) {
+        double ratio = Math.pow(tolerance * 9 / 4, 0.25);
+        if (ratio >= 1) {
+            return 0;
+        }
+        return rotorRadius / entrainmentConstant * (1 / ratio - 1);
+    }
 
-        return new double[]{
-                dx * cos - dy * sin,
-                dx * sin + dy * cos
-        };
+    private int lazyRowCapacity() {
+        long maxBytes = Long.getLong(LAZY_ROWS_MAX_BYTES_PROPERTY, DEFAULT_LAZY_ROWS_MAX_BYTES);
+        long rowBytes = (long) cellCount * 2 * Double.BYTES;
+        long rows = Math.min(maxBytes / rowBytes, (long) cellCount * directionCount);
+        return (int) Math.max(1, rows);
     }
 
-    private double computeIntersectedArea(double dx, double dy) {
-        double wakeRadius = rotorRadius + entrainmentConstant * dy;
-        double centerDist = Math.abs(dx);
+    private double[] computeGeometryRow(int key) {
+        int turbine = key / directionCount;
+        int direction = key % directionCount;
 
-        if (centerDist <= Math.abs(wakeRadius - rotorRadius)) {
-            return Math.PI * rotorRadius * rotorRadius;
-        } else if (centerDist < Math.sqrt(wakeRadius * wakeRadius - rotorRadius * rotorRadius)) {
-            return calculateS2(wakeRadius, rotorRadius, centerDist);
-        } else if (centerDist < wakeRadius + rotorRadius) {
-            return calculateS1(wakeRadius, rotorRadius, centerDist);
-        } else {
-            return 0;
+        double[] row = new double[cellCount * 2];
+        double[] dist = new double[2];
+        for (int upwind = 0; upwind < cellCount; upwind++) {
+            computeRotatedDistance(turbine, upwind, direction, dist, 0);
+            row[upwind * 2] = dist[indY];
+            row[upwind * 2 + 1] = computeIntersectedArea(dist[indX], dist[indY]);
         }
+        return row;
+    }
+
+    private double[] initializeRotatedCoordinates() {
+        double[] coordinates = new double[directionCount * cellCount * 2];
+        for (int direction = 0; direction < directionCount; direction++) {
+            double cos = directionCosines[direction];
+            double sin = directionSines[direction];
+            int base = coordinateBase(direction);
+            for (int cell = 0; cell < cellCount; cell++) {
+                double x = cellX(cell);
+                double y = cellY(cell);
+                coordinates[base + cell * 2 + indX] = x * cos - y * sin;
+                coordinates[base + cell * 2 + indY] = x * sin + y * cos;
+            }
+        }
+        return coordinates;
+    }
+
+    private int[] initializeSweepRank() {
+        int[] rank = new int[directionCount * cellCount];
+        for (int direction = 0; direction < directionCount; direction++) {
+            int base = coordinateBase(direction);
+            int[] upwindFirst = IntStream.range(0, cellCount)
+                    .boxed()
+                    .sorted((a, b) -> Double.compare(
+                            rotatedCoordinates[base + b * 2 + indY],
+                            rotatedCoordinates[base + a * 2 + indY]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            for (int position = 0; position < cellCount; position++) {
+                rank[direction * cellCount + upwindFirst[position]] = position;
+            }
+        }
+        return rank;
+    }
+
+    int coordinateBase(int direction) {
+        return direction * cellCount * 2;
+    }
+
+    private double[] initializeOffsetDistanceTable() {
+        int offsetsPerDirection = offsetSpan * offsetSpan;
+        double[] table = new double[directionCount * offsetsPerDirection * 2];
+        for (int direction = 0; direction < directionCount; direction++) {
+            int base = direction * offsetsPerDirection;
+            for (int offsetY = 1 - dimension; offsetY < dimension; offsetY++) {
+                for (int offsetX = 1 - dimension; offsetX < dimension; offsetX++) {
+                    // Any pair with this offset gives the same geometry; pick one inside the grid
+                    int from = Math.max(0, -offsetY) * dimension + Math.max(0, -offsetX);
+                    int to = from + offsetY * dimension + offsetX;
+                    double[] dist = new double[2];
+                    computeRotatedDistance(from, to, direction, dist, 0);
+
+                    int entry = base + (offsetY + dimension - 1) * offsetSpan + offsetX + dimension - 1;
+                    table[entry * 2 + indX] = dist[indX];
+                    table[entry * 2 + indY] = dist[indY];
+                }
+            }
+        }
+        return table;
+    }
+
+    private double[] initializeOffsetAreaTable(double[] distances) {
+        double[] table = new double[distances.length / 2];
+        for (int entry = 0; entry < table.length; entry++) {
+            table[entry] = computeIntersectedArea(
+                    distances[entry * 2 + indX],
+                    distances[entry * 2 + indY]
+            );
+        }
+        return table;
+    }
+
+    private double[] initializeDeficitTable() {
+        double[] distances = initializeOffsetDistanceTable();
+        double[] areas = initializeOffsetAreaTable(distances);
+        double[] table = new double[areas.length];
+        for (int entry = 0; entry < table.length; entry++) {
+            double rotatedY = distances[entry * 2 + indY];
+            if (rotatedY <= 0) continue;
+
+            double ratio = calculateSingleWakeDeficit(rotatedY);
+            table[entry] = ratio * ratio * (areas[entry] * inverseTurbineSurfaceArea);
+        }
+        return table;
+    }
+
+    private int[] initializeInfluenceRowStart(double[] offsetDeficits) {
+        int[] rowStart = new int[cellCount * directionCount + 1];
+        long entries = 0;
+        for (int turbine = 0; turbine < cellCount; turbine++) {
+            for (int direction = 0; direction < directionCount; direction++) {
+                entries += collectInfluences(turbine, direction, offsetDeficits, null, null, -1);
+                if (entries > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Sparse influence index exceeds the maximum " +
+                            "array size; use a lighter WakeOptimization for this problem");
+                }
+                rowStart[turbine * directionCount + direction + 1] = (int) entries;
+            }
+        }
+        return rowStart;
+    }
+
+    // Counts the upwind cells with a non-zero coefficient for one row, and
+    // stores them from the given position unless it is negative.
+    private int collectInfluences(
+            int turbine,
+            int direction,
+            double[] offsetDeficits,
+            int[] cells,
+            double[] deficits,
+            int position
+    ) {
+        int base = offsetBase(turbine, direction);
+        int count = 0;
+        for (int upwind = 0; upwind < cellCount; upwind++) {
+            double deficit = offsetDeficits[base + cellOffsetIndex[upwind]];
+            if (deficit == 0) continue;
+
+            if (position >= 0) {
+                cells[position + count] = upwind;
+                deficits[position + count] = deficit;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private int[] initializeCellOffsetIndex() {
+        int[] index = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            index[cell] = (cell / dimension) * offsetSpan + cell % dimension;
+        }
+        return index;
+    }
+
+    // The precomputed tables subtract the cell centres before rotating, as
+    // they always have, so their values match the original per-pair geometry.
+    // Differences of rotated coordinates round differently in the last bits.
+    private void computeRotatedDistance(int from, int to, int direction, double[] out, int offset) {
+        out[offset + indX] = rotatedDistanceX(from, to, direction);
+        out[offset + indY] = rotatedDistanceY(from, to, direction);
+    }
+
+    double rotatedDistanceX(int from, int to, int direction) {
+        double dx = cellX(to) - cellX(from);
+        double dy = cellY(to) - cellY(from);
+        return dx * directionCosines[direction] - dy * directionSines[direction];
+    }
+
+    double rotatedDistanceY(int from, int to, int direction) {
+        double dx = cellX(to) - cellX(from);
+        double dy = cellY(to) - cellY(from);
+        return dx * directionSines[direction] + dy * directionCosines[direction];
+    }
+
+    private double cellX(int cell) {
+        return (cell % dimension + 0.5) * gridWidth;
+    }
+
+    private double cellY(int cell) {
+        return ((double) cell / dimension + 0.5) * gridWidth;
     }
 
-    private double calculateS1(double R, double r, double dx) {
-        double beta = Math.acos((R * R + dx * dx - r * r) / (2 * R * dx));
-        double gamma = Math.acos((r * r + dx * dx - R * R) / (2 * r * dx));
-        return R * R * beta + r * r * gamma - R * dx * Math.sin(beta);
+    double computeIntersectedArea(double dx, double dy) {
+        return OverlapAreaTable.exactArea(rotorRadius, entrainmentConstant, dx, dy);
     }
 
-    private double calculateS2(double R, double r, double dx) {
-        double beta = Math.acos((R * R + dx * dx - r * r) / (2 * R * dx));
-        double gamma = Math.acos((r * r + dx * dx - R * R) / (2 * r * dx));
-        return Math.PI * r * r - (Math.PI - gamma) * r * r + R * dx * Math.sin(beta) - beta * R * R;
+    // The on-the-fly overlap, read from the table when the mode has one
+    double overlapArea(double dx, double dy) {
+        return overlapTable != null ? overlapTable.area(dx, dy) : computeIntersectedArea(dx, dy);
     }
 }
@@ -0,0 +1,208 @@
+package org.zafer.wflopcore.wake;
+
+/**
+ * Overlap area between a rotor and an upwind turbine's wake, sampled on a
+ * uniform grid over (crosswind offset, downwind distance) for one rotor
+ * radius and entrainment constant. A lookup is a bilinear interpolation of
+ * four samples instead of the {@code acos}, {@code sin} and {@code sqrt} of
+ * the exact lens formula.
+ *
+ * <p>The table spans downwind distances up to {@code maxDownwind} and every
+ * crosswind offset at which the wake can still reach the rotor there; beyond
+ * the downwind range it falls back to {@link #exactArea}. So does every
+ * table cell crossed by the offset where the rotor leaves full cover, past
+ * which the area falls with unbounded slope, or by the offset where the
+ * exact formula switches from one lens expression to the other and the area
+ * jumps: interpolating across either would not get better with a finer table.
+ */
+public class OverlapAreaTable {
+
+    private final double rotorRadius;
+    private final double entrainmentConstant;
+    private final int size;
+    private final double maxDownwind;
+    private final double maxCrosswind;
+    private final double inverseDownwindStep;
+    private final double inverseCrosswindStep;
+    // [downwind sample][crosswind sample]
+    private final double[] areas;
+    // Per downwind sample, the crosswind cells holding the edge of full
+    // cover and the formula switch
+    private final int[] coverColumns;
+    private final int[] switchColumns;
+
+    /**
+     * @param size samples per axis, at least 2
+     */
+    public OverlapAreaTable(double rotorRadius, double entrainmentConstant, double maxDownwind, int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Overlap table needs at least 2 samples per axis: " + size);
+        }
+        if (!(maxDownwind > 0)) {
+            throw new IllegalArgumentException("Downwind range must be positive: " + maxDownwind);
+        }
+
+        this.rotorRadius = rotorRadius;
+        this.entrainmentConstant = entrainmentConstant;
+        this.size = size;
+        this.maxDownwind = maxDownwind;
+        // The wake and rotor radii summed at the far end: no overlap beyond it
+        this.maxCrosswind = 2 * rotorRadius + entrainmentConstant * maxDownwind;
+        this.inverseDownwindStep = (size - 1) / maxDownwind;
+        this.inverseCrosswindStep = (size - 1) / maxCrosswind;
+
+        this.areas = new double[size * size];
+        this.coverColumns = new int[size];
+        this.switchColumns = new int[size];
+        for (int row = 0; row < size; row++) {
+            double downwind = row / inverseDownwindStep;
+            double wakeRadius = rotorRadius + entrainmentConstant * downwind;
+            coverColumns[row] = (int) (entrainmentConstant * downwind * inverseCrosswindStep);
+            switchColumns[row] = (int) (Math.sqrt(wakeRadius * wakeRadius - rotorRadius * rotorRadius)
+                    * inverseCrosswindStep);
+            for (int column = 0; column < size; column++) {
+                areas[row * size + column] = exactArea(
+                        rotorRadius, entrainmentConstant, column / inverseCrosswindStep, downwind);
+            }
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getMaxDownwind() {
+        return maxDownwind;
+    }
+
+    public long getFootprint() {
+        return (long) areas.length * Double.BYTES + 2L * size * Integer.BYTES;
+    }
+
+    public double area(double crosswind, double downwind) {
+        double y = downwind * inverseDownwindStep;
+        if (!(y < size - 1)) {
+            return exactArea(rotorRadius, entrainmentConstant, crosswind, downwind);
+        }
+
+        // Out of the wake's reach, like most pairs of a large grid
+        double offset = Math.abs(crosswind);
+        if (offset >= 2 * rotorRadius + entrainmentConstant * downwind) {
+            return 0;
+        }
+
+        double x = offset * inverseCrosswindStep;
+
+        int row = (int) y;
+        int column = (int) x;
+        // Both offsets grow with the downwind distance
+        if ((column >= coverColumns[row] && column <= coverColumns[row + 1])
+                || (column >= switchColumns[row] && column <= switchColumns[row + 1])) {
+            return exactArea(rotorRadius, entrainmentConstant, crosswind, downwind);
+        }
+
+        double fy = y - row;
+        double fx = x - column;
+
+        int entry = row * size + column;
+        double near = areas[entry] + fx * (areas[entry + 1] - areas[entry]);
+        double far = areas[entry + size] + fx * (areas[entry + size + 1] - areas[entry + size]);
+        return near + fy * (far - near);
+    }
+
+    /**
+     * Compares the table against the exact formula halfway between every
+     * pair of neighbouring samples, where bilinear interpolation is least
+     * accurate, with errors expressed as a fraction of the rotor area. The
+     * maximum comes from cells just past the edge of full cover and shrinks
+     * slowly with the size; the mean falls faster than linearly.
+     */
+    public ErrorReport measureError() {
+        double rotorArea = Math.PI * rotorRadius * rotorRadius;
+        double max = 0;
+        double sum = 0;
+        int count = 0;
+        for (int row = 0; row < size - 1; row++) {
+            double downwind = (row + 0.5) / inverseDownwindStep;
+            for (int column = 0; column < size - 1; column++) {
+                double crosswind = (column + 0.5) / inverseCrosswindStep;
+                double error = Math.abs(area(crosswind, downwind)
+                        - exactArea(rotorRadius, entrainmentConstant, crosswind, downwind)) / rotorArea;
+                max = Math.max(max, error);
+                sum += error;
+                count++;
+            }
+        }
+        return new ErrorReport(size, max, sum / count);
+    }
+
+    /**
+     * Exact overlap of a rotor with the wake of a turbine {@code downwind}
+     * metres upwind of it and {@code crosswind} metres to the side.
+     */
+    public static double exactArea(
+            double rotorRadius,
+            double entrainmentConstant,
+            double crosswind,
+            double downwind
+    ) {
+        double wakeRadius = rotorRadius + entrainmentConstant * downwind;
+        double centerDist = Math.abs(crosswind);
+
+        if (centerDist <= Math.abs(wakeRadius - rotorRadius)) {
+            return Math.PI * rotorRadius * rotorRadius;
+        } else if (centerDist < Math.sqrt(wakeRadius * wakeRadius - rotorRadius * rotorRadius)) {
+            return calculateS2(wakeRadius, rotorRadius, centerDist);
+        } else if (centerDist < wakeRadius + rotorRadius) {
+            return calculateS1(wakeRadius, rotorRadius, centerDist);
+        } else {
+            return 0;
+        }
+    }
+
+    private static double calculateS1(double R, double r, double dx) {
+        double beta = Math.acos((R * R + dx * dx - r * r) / (2 * R * dx));
+        double gamma = Math.acos((r * r + dx * dx - R * R) / (2 * r * dx));
+        return R * R * beta + r * r * gamma - R * dx * Math.sin(beta);
+    }
+
+    private static double calculateS2(double R, double r, double dx) {
+        double beta = Math.acos((R * R + dx * dx - r * r) / (2 * R * dx));
+        double gamma = Math.acos((r * r + dx * dx - R * R) / (2 * r * dx));
+        return Math.PI * r * r - (Math.PI - gamma) * r * r + R * dx * Math.sin(beta) - beta * R * R;
+    }
+
+    public static class ErrorReport {
+
+        private final int size;
+        private final double maxError;
+        private final double meanError;
+
+        private ErrorReport(int size, double maxError, double meanError) {
+            this.size = size;
+            this.maxError = maxError;
+            this.meanError = meanError;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Largest deviation from the exact area, as a fraction of the rotor area.
+         */
+        public double getMaxError() {
+            return maxError;
+        }
+
+        public double getMeanError() {
+            return meanError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%dx%d overlap table: max error %.3e, mean %.3e of the rotor area",
+                    size, size, maxError, meanError);
+        }
+    }
+}
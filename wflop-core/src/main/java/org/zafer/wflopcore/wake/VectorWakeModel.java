@@ -0,0 +1,150 @@
+package org.zafer.wflopcore.wake;
+
+import java.util.Arrays;
+import java.util.List;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+/**
+ * Sums the fused deficit coefficients of a layout with SIMD gathers over the
+ * occupied cells. Only created by {@link DefaultWakeModelProvider} when the
+ * {@code jdk.incubator.vector} module is present, since loading this class
+ * without it fails.
+ */
+class VectorWakeModel implements WakeModel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final JensenWakeModel scalarModel;
+    private final double[] deficitTable;
+    private final int[] cellOffsetIndex;
+
+    VectorWakeModel(JensenWakeModel scalarModel) {
+        this.scalarModel = scalarModel;
+        this.deficitTable = scalarModel.getDeficitTable();
+        this.cellOffsetIndex = scalarModel.getCellOffsetIndex();
+    }
+
+    @Override
+    public double calculateEffectiveSpeed(int turbine, int[] turbines, WindProfile windProfile) {
+        double sum = sumDeficits(scalarModel.offsetBase(turbine, scalarModel.directionOf(windProfile)), offsetsOf(turbines));
+        return scalarModel.calculateEffectiveSpeed(sum, windProfile);
+    }
+
+    @Override
+    public double calculateDeficit(int turbine, int upwind, WindProfile windProfile) {
+        return scalarModel.calculateDeficit(turbine, upwind, windProfile);
+    }
+
+    @Override
+    public double calculateEffectiveSpeed(double deficitSum, WindProfile windProfile) {
+        return scalarModel.calculateEffectiveSpeed(deficitSum, windProfile);
+    }
+
+    @Override
+    public void calculateEffectiveSpeeds(
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        fillLayoutSpeeds(turbines, windProfiles, new double[scalarModel.getDirectionCount()], speeds);
+    }
+
+    @Override
+    public void calculateEffectiveSpeeds(
+            TurbineLayout layout,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        fillLayoutSpeeds(layout.getCells(), windProfiles, new double[scalarModel.getDirectionCount()], speeds);
+    }
+
+    @Override
+    public void calculateBatchEffectiveSpeeds(
+            List<TurbineLayout> layouts,
+            List<WindProfile> windProfiles,
+            double[][] speeds
+    ) {
+        double[] directionSums = new double[scalarModel.getDirectionCount()];
+        for (int i = 0; i < layouts.size(); i++) {
+            fillLayoutSpeeds(layouts.get(i).getCells(), windProfiles, directionSums, speeds[i]);
+        }
+    }
+
+    private void fillLayoutSpeeds(
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] directionSums,
+            double[] speeds
+    ) {
+        // The gather indices only depend on the layout, so build them once
+        int[] offsets = offsetsOf(turbines);
+        int profiles = windProfiles.size();
+        for (int i = 0; i < offsets.length; i++) {
+            fillEffectiveSpeeds(turbines[i], offsets, windProfiles, directionSums, speeds, i * profiles);
+        }
+    }
+
+    @Override
+    public void calculateEffectiveSpeeds(
+            int turbine,
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        double[] directionSums = new double[scalarModel.getDirectionCount()];
+        fillEffectiveSpeeds(turbine, offsetsOf(turbines), windProfiles, directionSums, speeds, 0);
+    }
+
+    // Speed bins sharing a direction share its deficit sum
+    private void fillEffectiveSpeeds(
+            int turbine,
+            int[] offsets,
+            List<WindProfile> windProfiles,
+            double[] directionSums,
+            double[] speeds,
+            int offset
+    ) {
+        Arrays.fill(directionSums, Double.NaN);
+        for (int profile = 0; profile < windProfiles.size(); profile++) {
+            WindProfile windProfile = windProfiles.get(profile);
+            int direction = scalarModel.directionOf(windProfile);
+            double sum = directionSums[direction];
+            if (Double.isNaN(sum)) {
+                sum = sumDeficits(scalarModel.offsetBase(turbine, direction), offsets);
+                directionSums[direction] = sum;
+            }
+            speeds[offset + profile] = scalarModel.calculateEffectiveSpeed(sum, windProfile);
+        }
+    }
+
+    private double sumDeficits(int base, int[] offsets) {
+        int length = offsets.length;
+        int upperBound = SPECIES.loopBound(length);
+
+        DoubleVector accumulator = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            accumulator = accumulator.add(DoubleVector.fromArray(SPECIES, deficitTable, base, offsets, i));
+        }
+
+        double sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += deficitTable[base + offsets[i]];
+        }
+        return sum;
+    }
+
+    private int[] offsetsOf(int[] turbines) {
+        int[] offsets = new int[turbines.length];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = cellOffsetIndex[turbines[i]];
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,31 @@
+package org.zafer.wflopcore.wake;
+
+import java.nio.IntBuffer;
+
+/**
+ * Read-only flat array of ints served from the memory mappings of a
+ * {@link WakeMatrixCache} file; the integer counterpart of {@link WakeMatrix},
+ * split into chunks of {@code 2^CHUNK_SHIFT} ints for the same reason.
+ */
+final class WakeIndex {
+
+    static final int CHUNK_SHIFT = 28;
+    static final int CHUNK_INTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_INTS - 1;
+
+    private final IntBuffer[] chunks;
+    private final int length;
+
+    WakeIndex(IntBuffer[] chunks, int length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    int get(int index) {
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    int length() {
+        return length;
+    }
+}
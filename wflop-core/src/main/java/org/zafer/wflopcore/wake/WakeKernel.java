@@ -0,0 +1,882 @@
+package org.zafer.wflopcore.wake;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+/**
+ * Evaluates layouts for a single {@link WakeOptimization} over the tables its
+ * {@link JensenWakeModel} built. Each mode has its own final subclass whose
+ * pair loop reads one kind of table with no mode checks, so the JIT sees a
+ * straight loop. The model only builds the tables and the pair formulas, and
+ * delegates every evaluation to the kernel it creates for its mode.
+ */
+abstract class WakeKernel implements WakeModel {
+
+    final JensenWakeModel model;
+    final int directionCount;
+
+    private WakeKernel(JensenWakeModel model) {
+        this.model = model;
+        this.directionCount = model.getDirectionCount();
+    }
+
+    static WakeKernel create(JensenWakeModel model, WakeOptimization optimization) {
+        return switch (optimization) {
+            case NONE -> new RotatedCoordinateKernel(model);
+            case DISTANCE_MATRIX -> model.getMappedDistanceMatrix() == null
+                    ? new DistanceMatrixKernel(model)
+                    : new MappedDistanceMatrixKernel(model);
+            case INTERSECTION_MATRIX -> model.getMappedIntersectedAreaMatrix() == null
+                    ? new AreaMatrixKernel(model)
+                    : new MappedAreaMatrixKernel(model);
+            case BOTH -> model.getMappedDistanceMatrix() == null && model.getMappedIntersectedAreaMatrix() == null
+                    ? new PairMatrixKernel(model)
+                    : new MappedPairMatrixKernel(model);
+            case OFFSET_TABLE -> new OffsetTableKernel(model);
+            case DEFICIT_TABLE, VECTOR_DEFICIT_TABLE -> new DeficitTableKernel(model);
+            case SPARSE_INFLUENCE -> model.getMappedInfluenceCells() == null
+                    ? new SparseInfluenceKernel(model)
+                    : new MappedSparseInfluenceKernel(model);
+            case LAZY_ROWS -> new LazyRowKernel(model);
+            case FLOAT_MATRICES -> new FloatMatrixKernel(model);
+            case UPWIND_SWEEP, CUTOFF_SWEEP, INTERPOLATED_OVERLAP -> new UpwindSweepKernel(model);
+        };
+    }
+
+    /**
+     * Deficit sum the layout casts on the turbine in one direction, adding
+     * the pairs in array order.
+     */
+    abstract double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction);
+
+    // The term one upwind cell adds to the turbine's sum in one direction
+    abstract double pairDeficit(int turbine, int upwind, int direction);
+
+    // Only the sparse kernel reads an occupancy bitmap
+    long[] occupancyOf(int[] turbines) {
+        return null;
+    }
+
+    @Override
+    public double calculateEffectiveSpeed(int turbine, int[] turbines, WindProfile windProfile) {
+        double sum = sumDeficits(turbine, turbines, occupancyOf(turbines), model.directionOf(windProfile));
+        return model.calculateEffectiveSpeed(sum, windProfile);
+    }
+
+    @Override
+    public double calculateDeficit(int turbine, int upwind, WindProfile windProfile) {
+        return pairDeficit(turbine, upwind, model.directionOf(windProfile));
+    }
+
+    @Override
+    public double calculateEffectiveSpeed(double deficitSum, WindProfile windProfile) {
+        return model.calculateEffectiveSpeed(deficitSum, windProfile);
+    }
+
+    @Override
+    public double getSpeedErrorBound(int turbineCount) {
+        return model.getSpeedErrorBound(turbineCount);
+    }
+
+    @Override
+    public void calculateEffectiveSpeeds(
+            int turbine,
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        long[] occupancy = occupancyOf(turbines);
+        double[] directionSums = new double[directionCount];
+        Arrays.fill(directionSums, Double.NaN);
+        for (int profile = 0; profile < windProfiles.size(); profile++) {
+            WindProfile windProfile = windProfiles.get(profile);
+            int direction = model.directionOf(windProfile);
+            double sum = directionSums[direction];
+            if (Double.isNaN(sum)) {
+                sum = sumDeficits(turbine, turbines, occupancy, direction);
+                directionSums[direction] = sum;
+            }
+            speeds[profile] = model.calculateEffectiveSpeed(sum, windProfile);
+        }
+    }
+
+    @Override
+    public void calculateEffectiveSpeeds(
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        fillEffectiveSpeeds(turbines, occupancyOf(turbines), windProfiles, speeds);
+    }
+
+    @Override
+    public void calculateEffectiveSpeeds(
+            TurbineLayout layout,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        fillEffectiveSpeeds(layout.getCells(), layout.getOccupancy(), windProfiles, speeds);
+    }
+
+    // Direction by direction, each summed over the whole layout only once
+    // however many speed bins share it
+    void fillEffectiveSpeeds(
+            int[] turbines,
+            long[] occupancy,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        int turbineCount = turbines.length;
+        int profiles = windProfiles.size();
+        double[] directionSums = new double[directionCount * turbineCount];
+        boolean[] summed = new boolean[directionCount];
+
+        for (int profile = 0; profile < profiles; profile++) {
+            WindProfile windProfile = windProfiles.get(profile);
+            int direction = model.directionOf(windProfile);
+            int offset = direction * turbineCount;
+            if (!summed[direction]) {
+                for (int i = 0; i < turbineCount; i++) {
+                    directionSums[offset + i] = sumDeficits(turbines[i], turbines, occupancy, direction);
+                }
+                summed[direction] = true;
+            }
+            for (int i = 0; i < turbineCount; i++) {
+                speeds[i * profiles + profile] = model.calculateEffectiveSpeed(directionSums[offset + i], windProfile);
+            }
+        }
+    }
+
+    static final class RotatedCoordinateKernel extends WakeKernel {
+
+        private final double[] rotatedCoordinates;
+
+        RotatedCoordinateKernel(JensenWakeModel model) {
+            super(model);
+            this.rotatedCoordinates = model.getRotatedCoordinates();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int base = model.coordinateBase(direction);
+            double turbineX = rotatedCoordinates[base + turbine * 2];
+            double turbineY = rotatedCoordinates[base + turbine * 2 + 1];
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = rotatedCoordinates[base + upwind * 2 + 1] - turbineY;
+                if (rotatedY <= 0) continue;
+
+                double rotatedX = rotatedCoordinates[base + upwind * 2] - turbineX;
+                sum += model.deficitTerm(rotatedY, model.computeIntersectedArea(rotatedX, rotatedY));
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int base = model.coordinateBase(direction);
+            double rotatedY = rotatedCoordinates[base + upwind * 2 + 1] - rotatedCoordinates[base + turbine * 2 + 1];
+            if (rotatedY <= 0) return 0;
+
+            double rotatedX = rotatedCoordinates[base + upwind * 2] - rotatedCoordinates[base + turbine * 2];
+            return model.deficitTerm(rotatedY, model.computeIntersectedArea(rotatedX, rotatedY));
+        }
+    }
+
+    static final class DistanceMatrixKernel extends WakeKernel {
+
+        private final double[] distanceMatrix;
+
+        DistanceMatrixKernel(JensenWakeModel model) {
+            super(model);
+            this.distanceMatrix = model.getDistanceMatrix();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = model.rowOffset(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                int entry = (row + upwind) * 2;
+                double rotatedY = distanceMatrix[entry + 1];
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, model.computeIntersectedArea(distanceMatrix[entry], rotatedY));
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int entry = (model.rowOffset(turbine, direction) + upwind) * 2;
+            double rotatedY = distanceMatrix[entry + 1];
+            if (rotatedY <= 0) return 0;
+
+            return model.deficitTerm(rotatedY, model.computeIntersectedArea(distanceMatrix[entry], rotatedY));
+        }
+    }
+
+    static final class AreaMatrixKernel extends WakeKernel {
+
+        private final double[] areaMatrix;
+
+        AreaMatrixKernel(JensenWakeModel model) {
+            super(model);
+            this.areaMatrix = model.getIntersectedAreaMatrix();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = model.rowOffset(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = model.rotatedDistanceY(turbine, upwind, direction);
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, areaMatrix[row + upwind]);
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            return model.deficitTerm(model.rotatedDistanceY(turbine, upwind, direction),
+                    areaMatrix[model.rowOffset(turbine, direction) + upwind]);
+        }
+    }
+
+    static final class PairMatrixKernel extends WakeKernel {
+
+        private final double[] distanceMatrix;
+        private final double[] areaMatrix;
+
+        PairMatrixKernel(JensenWakeModel model) {
+            super(model);
+            this.distanceMatrix = model.getDistanceMatrix();
+            this.areaMatrix = model.getIntersectedAreaMatrix();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = model.rowOffset(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = distanceMatrix[(row + upwind) * 2 + 1];
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, areaMatrix[row + upwind]);
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int entry = model.rowOffset(turbine, direction) + upwind;
+            return model.deficitTerm(distanceMatrix[entry * 2 + 1], areaMatrix[entry]);
+        }
+    }
+
+    // The pair matrix kernels again, reading matrices mapped from the on-disk
+    // cache; kept apart so the heap kernels index plain arrays with no checks
+
+    static final class MappedDistanceMatrixKernel extends WakeKernel {
+
+        private final WakeMatrix distanceMatrix;
+
+        MappedDistanceMatrixKernel(JensenWakeModel model) {
+            super(model);
+            this.distanceMatrix = model.getMappedDistanceMatrix();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = model.rowOffset(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                int entry = (row + upwind) * 2;
+                double rotatedY = distanceMatrix.get(entry + 1);
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, model.computeIntersectedArea(distanceMatrix.get(entry), rotatedY));
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int entry = (model.rowOffset(turbine, direction) + upwind) * 2;
+            double rotatedY = distanceMatrix.get(entry + 1);
+            if (rotatedY <= 0) return 0;
+
+            return model.deficitTerm(rotatedY, model.computeIntersectedArea(distanceMatrix.get(entry), rotatedY));
+        }
+    }
+
+    static final class MappedAreaMatrixKernel extends WakeKernel {
+
+        private final WakeMatrix areaMatrix;
+
+        MappedAreaMatrixKernel(JensenWakeModel model) {
+            super(model);
+            this.areaMatrix = model.getMappedIntersectedAreaMatrix();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = model.rowOffset(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = model.rotatedDistanceY(turbine, upwind, direction);
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, areaMatrix.get(row + upwind));
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            return model.deficitTerm(model.rotatedDistanceY(turbine, upwind, direction),
+                    areaMatrix.get(model.rowOffset(turbine, direction) + upwind));
+        }
+    }
+
+    static final class MappedPairMatrixKernel extends WakeKernel {
+
+        private final WakeMatrix distanceMatrix;
+        private final WakeMatrix areaMatrix;
+
+        // When only one of the files could be published the other matrix is
+        // still on the heap, and is read through a view of its array
+        MappedPairMatrixKernel(JensenWakeModel model) {
+            super(model);
+            this.distanceMatrix = model.getMappedDistanceMatrix() != null
+                    ? model.getMappedDistanceMatrix()
+                    : WakeMatrix.wrap(model.getDistanceMatrix());
+            this.areaMatrix = model.getMappedIntersectedAreaMatrix() != null
+                    ? model.getMappedIntersectedAreaMatrix()
+                    : WakeMatrix.wrap(model.getIntersectedAreaMatrix());
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = model.rowOffset(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = distanceMatrix.get((row + upwind) * 2 + 1);
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, areaMatrix.get(row + upwind));
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int entry = model.rowOffset(turbine, direction) + upwind;
+            return model.deficitTerm(distanceMatrix.get(entry * 2 + 1), areaMatrix.get(entry));
+        }
+    }
+
+    static final class FloatMatrixKernel extends WakeKernel {
+
+        private final float[] distanceMatrix;
+        private final float[] areaMatrix;
+
+        FloatMatrixKernel(JensenWakeModel model) {
+            super(model);
+            this.distanceMatrix = model.getFloatDistanceMatrix();
+            this.areaMatrix = model.getFloatAreaMatrix();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = model.rowOffset(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = distanceMatrix[row + upwind];
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, areaMatrix[row + upwind]);
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int entry = model.rowOffset(turbine, direction) + upwind;
+            return model.deficitTerm(distanceMatrix[entry], areaMatrix[entry]);
+        }
+    }
+
+    static final class LazyRowKernel extends WakeKernel {
+
+        private final WakeRowCache rowCache;
+
+        LazyRowKernel(JensenWakeModel model) {
+            super(model);
+            this.rowCache = model.getRowCache();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            double[] row = rowCache.get(turbine * directionCount + direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = row[upwind * 2];
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, row[upwind * 2 + 1]);
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            double[] row = rowCache.get(turbine * directionCount + direction);
+            return model.deficitTerm(row[upwind * 2], row[upwind * 2 + 1]);
+        }
+    }
+
+    static final class OffsetTableKernel extends WakeKernel {
+
+        private final double[] distanceTable;
+        private final double[] areaTable;
+        private final int[] cellOffsetIndex;
+
+        OffsetTableKernel(JensenWakeModel model) {
+            super(model);
+            this.distanceTable = model.getOffsetDistanceTable();
+            this.areaTable = model.getOffsetAreaTable();
+            this.cellOffsetIndex = model.getCellOffsetIndex();
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int base = model.offsetBase(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                int entry = base + cellOffsetIndex[upwind];
+                double rotatedY = distanceTable[entry * 2 + 1];
+                if (rotatedY <= 0) continue;
+
+                sum += model.deficitTerm(rotatedY, areaTable[entry]);
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int entry = model.offsetBase(turbine, direction) + cellOffsetIndex[upwind];
+            return model.deficitTerm(distanceTable[entry * 2 + 1], areaTable[entry]);
+        }
+    }
+
+    // Also serves VECTOR_DEFICIT_TABLE when the Vector API is missing
+    static final class DeficitTableKernel extends WakeKernel {
+
+        private static final int GROUP_PAIR_COST = 4;
+
+        private final double[] deficitTable;
+        private final int[] cellOffsetIndex;
+        private final int cellCount;
+
+        DeficitTableKernel(JensenWakeModel model) {
+            super(model);
+            this.deficitTable = model.getDeficitTable();
+            this.cellOffsetIndex = model.getCellOffsetIndex();
+            this.cellCount = model.getCellCount();
+        }
+
+        /**
+         * Evaluates the layouts in groups of 64, so that one {@code long} per
+         * cell tells which layouts of the group hold it. The table row of
+         * every cell is then walked once per direction for the whole group,
+         * which pays off when the layouts share most of their cells, like the
+         * children of one generation; other groups are evaluated one layout
+         * at a time. Grouped sums are added in a different order, so they may
+         * differ from single-layout ones in the last bits.
+         */
+        @Override
+        public void calculateBatchEffectiveSpeeds(
+                List<TurbineLayout> layouts,
+                List<WindProfile> windProfiles,
+                double[][] speeds
+        ) {
+            long[] members = new long[cellCount];
+            int[] union = new int[cellCount];
+            for (int from = 0; from < layouts.size(); from += Long.SIZE) {
+                int to = Math.min(layouts.size(), from + Long.SIZE);
+                fillGroup(layouts.subList(from, to), windProfiles, speeds, from, members, union);
+            }
+        }
+
+        private void fillGroup(
+                List<TurbineLayout> group,
+                List<WindProfile> windProfiles,
+                double[][] speeds,
+                int from,
+                long[] members,
+                int[] union
+        ) {
+            int groupSize = group.size();
+            int[] sizes = new int[groupSize];
+            int unionSize = 0;
+            long pairs = 0;
+            for (int layout = 0; layout < groupSize; layout++) {
+                int[] cells = group.get(layout).getCells();
+                sizes[layout] = cells.length;
+                pairs += (long) cells.length * cells.length;
+                for (int cell : cells) {
+                    if (members[cell] == 0) {
+                        union[unionSize++] = cell;
+                    }
+                    members[cell] |= 1L << layout;
+                }
+            }
+
+            // Walking the union costs about four single-layout pairs per
+            // union pair, so unrelated layouts are evaluated one at a time
+            if ((long) unionSize * unionSize * GROUP_PAIR_COST > pairs) {
+                for (int k = 0; k < unionSize; k++) {
+                    members[union[k]] = 0;
+                }
+                for (int layout = 0; layout < groupSize; layout++) {
+                    calculateEffectiveSpeeds(group.get(layout), windProfiles, speeds[from + layout]);
+                }
+                return;
+            }
+            Arrays.sort(union, 0, unionSize);
+
+            double[][] directionSums = new double[groupSize][];
+            for (int layout = 0; layout < groupSize; layout++) {
+                directionSums[layout] = new double[directionCount * sizes[layout]];
+            }
+            boolean[] summed = new boolean[directionCount];
+
+            int profiles = windProfiles.size();
+            for (int profile = 0; profile < profiles; profile++) {
+                WindProfile windProfile = windProfiles.get(profile);
+                int direction = model.directionOf(windProfile);
+                if (!summed[direction]) {
+                    sumGroupDirection(direction, union, unionSize, members, sizes, directionSums);
+                    summed[direction] = true;
+                }
+                for (int layout = 0; layout < groupSize; layout++) {
+                    int offset = direction * sizes[layout];
+                    for (int i = 0; i < sizes[layout]; i++) {
+                        speeds[from + layout][i * profiles + profile] =
+                                model.calculateEffectiveSpeed(directionSums[layout][offset + i], windProfile);
+                    }
+                }
+            }
+
+            for (int k = 0; k < unionSize; k++) {
+                members[union[k]] = 0;
+            }
+        }
+
+        // Adds every coefficient of a turbine's row to each layout holding
+        // both cells. A pair held by most of the turbine's holders goes to a
+        // shared sum instead, and is taken back from the few holders that
+        // lack the upwind cell, so each pair costs at most half the holders.
+        private void sumGroupDirection(
+                int direction,
+                int[] union,
+                int unionSize,
+                long[] members,
+                int[] sizes,
+                double[][] directionSums
+        ) {
+            int[] positions = new int[sizes.length];
+            double[] sums = new double[Long.SIZE];
+            for (int k = 0; k < unionSize; k++) {
+                int turbine = union[k];
+                long holders = members[turbine];
+                int half = Long.bitCount(holders) >>> 1;
+                int base = model.offsetBase(turbine, direction);
+                for (long bits = holders; bits != 0; bits &= bits - 1) {
+                    sums[Long.numberOfTrailingZeros(bits)] = 0;
+                }
+
+                double shared = 0;
+                for (int j = 0; j < unionSize; j++) {
+                    int upwind = union[j];
+                    long both = members[upwind] & holders;
+                    if (both == 0) continue;
+
+                    double deficit = deficitTable[base + cellOffsetIndex[upwind]];
+                    if (Long.bitCount(both) > half) {
+                        shared += deficit;
+                        for (long lacking = holders & ~both; lacking != 0; lacking &= lacking - 1) {
+                            sums[Long.numberOfTrailingZeros(lacking)] -= deficit;
+                        }
+                    } else {
+                        for (; both != 0; both &= both - 1) {
+                            sums[Long.numberOfTrailingZeros(both)] += deficit;
+                        }
+                    }
+                }
+
+                for (long bits = holders; bits != 0; bits &= bits - 1) {
+                    int layout = Long.numberOfTrailingZeros(bits);
+                    directionSums[layout][direction * sizes[layout] + positions[layout]++] = shared + sums[layout];
+                }
+            }
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int base = model.offsetBase(turbine, direction);
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                sum += deficitTable[base + cellOffsetIndex[upwind]];
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            return deficitTable[model.offsetBase(turbine, direction) + cellOffsetIndex[upwind]];
+        }
+    }
+
+    static final class SparseInfluenceKernel extends WakeKernel {
+
+        private final int[] rowStart;
+        private final int[] influenceCells;
+        private final double[] influenceDeficits;
+        private final int cellCount;
+
+        SparseInfluenceKernel(JensenWakeModel model) {
+            super(model);
+            this.rowStart = model.getInfluenceRowStart();
+            this.influenceCells = model.getInfluenceCells();
+            this.influenceDeficits = model.getInfluenceDeficits();
+            this.cellCount = model.getCellCount();
+        }
+
+        @Override
+        long[] occupancyOf(int[] turbines) {
+            long[] occupancy = new long[(cellCount + 63) >>> 6];
+            for (int turbine : turbines) {
+                occupancy[turbine >>> 6] |= 1L << turbine;
+            }
+            return occupancy;
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = turbine * directionCount + direction;
+
+            double sum = 0;
+            for (int i = rowStart[row], end = rowStart[row + 1]; i < end; i++) {
+                int upwind = influenceCells[i];
+                int word = upwind >>> 6;
+                // Layout bitmaps only span up to their highest occupied cell
+                if (word < occupancy.length && (occupancy[word] & (1L << upwind)) != 0) {
+                    sum += influenceDeficits[i];
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int row = turbine * directionCount + direction;
+            int position = Arrays.binarySearch(influenceCells, rowStart[row], rowStart[row + 1], upwind);
+            return position >= 0 ? influenceDeficits[position] : 0;
+        }
+    }
+
+    static final class MappedSparseInfluenceKernel extends WakeKernel {
+
+        private final WakeIndex rowStart;
+        private final WakeIndex influenceCells;
+        private final WakeMatrix influenceDeficits;
+        private final int cellCount;
+
+        MappedSparseInfluenceKernel(JensenWakeModel model) {
+            super(model);
+            this.rowStart = model.getMappedInfluenceRowStart();
+            this.influenceCells = model.getMappedInfluenceCells();
+            this.influenceDeficits = model.getMappedInfluenceDeficits();
+            this.cellCount = model.getCellCount();
+        }
+
+        @Override
+        long[] occupancyOf(int[] turbines) {
+            long[] occupancy = new long[(cellCount + 63) >>> 6];
+            for (int turbine : turbines) {
+                occupancy[turbine >>> 6] |= 1L << turbine;
+            }
+            return occupancy;
+        }
+
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int row = turbine * directionCount + direction;
+
+            double sum = 0;
+            for (int i = rowStart.get(row), end = rowStart.get(row + 1); i < end; i++) {
+                int upwind = influenceCells.get(i);
+                int word = upwind >>> 6;
+                // Layout bitmaps only span up to their highest occupied cell
+                if (word < occupancy.length && (occupancy[word] & (1L << upwind)) != 0) {
+                    sum += influenceDeficits.get(i);
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int row = turbine * directionCount + direction;
+            int low = rowStart.get(row);
+            int high = rowStart.get(row + 1) - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int cell = influenceCells.get(middle);
+                if (cell < upwind) {
+                    low = middle + 1;
+                } else if (cell > upwind) {
+                    high = middle - 1;
+                } else {
+                    return influenceDeficits.get(middle);
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Orders each layout from upwind to downwind once per direction and
+     * compares every turbine only with its predecessors. CUTOFF_SWEEP stops
+     * at the model's cut-off distance and INTERPOLATED_OVERLAP reads its
+     * overlap table; both are exact otherwise.
+     */
+    static final class UpwindSweepKernel extends WakeKernel {
+
+        private final double[] rotatedCoordinates;
+        private final int[] sweepRank;
+        private final int cellCount;
+        private final double cutoffDistance;
+
+        UpwindSweepKernel(JensenWakeModel model) {
+            super(model);
+            this.rotatedCoordinates = model.getRotatedCoordinates();
+            this.sweepRank = model.getSweepRank();
+            this.cellCount = model.getCellCount();
+            this.cutoffDistance = model.getCutoffDistance();
+        }
+
+        // Single turbines, as asked for by incremental callers, are not worth sorting for
+        @Override
+        double sumDeficits(int turbine, int[] turbines, long[] occupancy, int direction) {
+            int base = model.coordinateBase(direction);
+            double turbineX = rotatedCoordinates[base + turbine * 2];
+            double turbineY = rotatedCoordinates[base + turbine * 2 + 1];
+
+            double sum = 0;
+            for (int upwind : turbines) {
+                double rotatedY = rotatedCoordinates[base + upwind * 2 + 1] - turbineY;
+                if (rotatedY <= 0 || rotatedY > cutoffDistance) continue;
+
+                double rotatedX = rotatedCoordinates[base + upwind * 2] - turbineX;
+                sum += model.deficitTerm(rotatedY, model.overlapArea(rotatedX, rotatedY));
+            }
+            return sum;
+        }
+
+        @Override
+        double pairDeficit(int turbine, int upwind, int direction) {
+            int base = model.coordinateBase(direction);
+            double rotatedY = rotatedCoordinates[base + upwind * 2 + 1] - rotatedCoordinates[base + turbine * 2 + 1];
+            if (rotatedY <= 0 || rotatedY > cutoffDistance) return 0;
+
+            double rotatedX = rotatedCoordinates[base + upwind * 2] - rotatedCoordinates[base + turbine * 2];
+            return model.deficitTerm(rotatedY, model.overlapArea(rotatedX, rotatedY));
+        }
+
+        // Each direction is swept once, however many speed bins share it
+        @Override
+        void fillEffectiveSpeeds(
+                int[] turbines,
+                long[] occupancy,
+                List<WindProfile> windProfiles,
+                double[] speeds
+        ) {
+            int turbineCount = turbines.length;
+            int profiles = windProfiles.size();
+            double[] directionSums = new double[directionCount * turbineCount];
+            boolean[] swept = new boolean[directionCount];
+            long[] order = new long[turbineCount];
+
+            for (int profile = 0; profile < profiles; profile++) {
+                WindProfile windProfile = windProfiles.get(profile);
+                int direction = model.directionOf(windProfile);
+                int offset = direction * turbineCount;
+                if (!swept[direction]) {
+                    sweepDirection(turbines, direction, order, directionSums, offset);
+                    swept[direction] = true;
+                }
+                for (int i = 0; i < turbineCount; i++) {
+                    speeds[i * profiles + profile] = model.calculateEffectiveSpeed(directionSums[offset + i], windProfile);
+                }
+            }
+        }
+
+        /**
+         * Orders the layout from upwind to downwind and gives every turbine the
+         * deficit sum of its predecessors, writing it to {@code sums[offset + i]}
+         * for the turbine at {@code turbines[i]}.
+         */
+        private void sweepDirection(int[] turbines, int direction, long[] order, double[] sums, int offset) {
+            // Rank in the high half and layout position in the low half, so a
+            // primitive sort yields the sweep order
+            int rankBase = direction * cellCount;
+            for (int i = 0; i < turbines.length; i++) {
+                order[i] = (long) sweepRank[rankBase + turbines[i]] << 32 | i;
+            }
+            Arrays.sort(order);
+
+            int base = model.coordinateBase(direction);
+            for (int k = 0; k < order.length; k++) {
+                int position = (int) order[k];
+                int turbine = turbines[position];
+                double turbineX = rotatedCoordinates[base + turbine * 2];
+                double turbineY = rotatedCoordinates[base + turbine * 2 + 1];
+
+                // Predecessors are at least as far upwind, nearest first; equal
+                // downwind coordinates cast no wake on each other
+                double sum = 0;
+                for (int j = k - 1; j >= 0; j--) {
+                    int upwind = turbines[(int) order[j]];
+                    double rotatedY = rotatedCoordinates[base + upwind * 2 + 1] - turbineY;
+
+                    if (rotatedY <= 0) continue;
+                    // Every remaining predecessor is further upwind still
+                    if (rotatedY > cutoffDistance) break;
+
+                    double rotatedX = rotatedCoordinates[base + upwind * 2] - turbineX;
+                    sum += model.deficitTerm(rotatedY, model.overlapArea(rotatedX, rotatedY));
+                }
+                sums[offset + position] = sum;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.zafer.wflopcore.wake;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Read-only flat array of doubles served from the memory mappings of a
+ * {@link WakeMatrixCache} file. The mappings stay in the page cache, so every
+ * JVM reading the same file shares one copy. Tables computed in this JVM stay
+ * plain arrays in their own kernels.
+ *
+ * <p>The values are split into chunks of {@code 2^CHUNK_SHIFT} doubles because a
+ * single mapping is limited to 2 GiB.
+ */
+final class WakeMatrix {
+
+    static final int CHUNK_SHIFT = 27;
+    static final int CHUNK_DOUBLES = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_DOUBLES - 1;
+
+    private final DoubleBuffer[] chunks;
+    private final int length;
+
+    WakeMatrix(DoubleBuffer[] chunks, int length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    /**
+     * View of a heap array, for the rare pair mode where only one of the two
+     * matrices could be published to the cache.
+     */
+    static WakeMatrix wrap(double[] values) {
+        DoubleBuffer[] chunks = new DoubleBuffer[(int) ((values.length + (long) CHUNK_DOUBLES - 1) >>> CHUNK_SHIFT)];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            int start = chunk * CHUNK_DOUBLES;
+            chunks[chunk] = DoubleBuffer.wrap(values, start, Math.min(CHUNK_DOUBLES, values.length - start)).slice();
+        }
+        return new WakeMatrix(chunks, values.length);
+    }
+
+    double get(int index) {
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    int length() {
+        return length;
+    }
+}
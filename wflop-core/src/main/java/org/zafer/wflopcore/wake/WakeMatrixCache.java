@@ -0,0 +1,240 @@
+package org.zafer.wflopcore.wake;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.zafer.wflopmodel.problem.WFLOP;
+
+/**
+ * On-disk cache of precomputed wake tables, shared by every run and every
+ * JVM on the host that points at the same directory. Files are keyed by a
+ * fingerprint of the problem's geometry and served straight from read-only
+ * memory mappings, never copied onto the heap, so concurrent readers share
+ * one copy in the page cache.
+ *
+ * <p>Only the pair-sized tables are worth a file: the pair matrices and the
+ * sparse influence rows. The offset-sized deficit table is a few KiB and is
+ * cheaper to rebuild than to look up.
+ *
+ * <p>The cache is best effort: a failed read returns {@code null} and a failed
+ * write returns {@code false}, so callers fall back to the computed array, and
+ * writers publish files with an atomic rename so readers never see a partial
+ * file.
+ */
+public class WakeMatrixCache {
+
+    public static final String DIRECTORY_PROPERTY = "wflop.wakeCache.dir";
+
+    // The magic number tags the element type, so a file is never read as the wrong kind
+    private static final long DOUBLE_MAGIC = 0x57464C4F50574D31L; // "WFLOPWM1"
+    private static final long INT_MAGIC = 0x57464C4F50574931L; // "WFLOPWI1"
+    private static final int HEADER_BYTES = 16;
+    // Bytes per mapping, one WakeMatrix or WakeIndex chunk; a single mapping is limited to 2 GiB
+    private static final int CHUNK_BYTES = WakeMatrix.CHUNK_DOUBLES * Double.BYTES;
+    // Version 3 subtracts the cell centres before rotating them, so tables written
+    // by version 2 hold slightly different values; version 4 adds int files for the
+    // sparse influence rows
+    private static final int FORMAT_VERSION = 4;
+
+    private final Path directory;
+
+    public WakeMatrixCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns a cache rooted at the {@value #DIRECTORY_PROPERTY} system
+     * property, or {@code null} when the property is not set.
+     */
+    public static WakeMatrixCache fromSystemProperty() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return directory == null || directory.isBlank()
+                ? null
+                : new WakeMatrixCache(Paths.get(directory));
+    }
+
+    /**
+     * SHA-256 over the grid geometry, the rotor radius, the entrainment constant
+     * and the distinct wind directions in index order, which together determine
+     * every precomputed table. Wind speeds, probabilities and the turbine count
+     * do not affect the tables, so problems differing only in those share files.
+     */
+    public static String fingerprint(WFLOP wflop) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(FORMAT_VERSION);
+            out.writeDouble(wflop.getRotorRadius());
+            out.writeDouble(wflop.getEntrainmentConstant());
+            out.writeDouble(wflop.getGridWidth());
+            out.writeInt(wflop.getDimension());
+            int[] directionAngles = wflop.getWindRose().getDirectionAngles();
+            out.writeInt(directionAngles.length);
+            for (int angle : directionAngles) {
+                out.writeInt(angle);
+            }
+            out.flush();
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bytes.toByteArray()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint problem", e);
+        }
+    }
+
+    /**
+     * Maps the cached table of doubles with the given name for this problem,
+     * or returns {@code null} when no valid file exists yet.
+     */
+    WakeMatrix readMatrix(WFLOP wflop, String name) {
+        ByteBuffer[] chunks = map(file(wflop, name), DOUBLE_MAGIC, Double.BYTES);
+        if (chunks == null) {
+            return null;
+        }
+
+        DoubleBuffer[] doubles = new DoubleBuffer[chunks.length];
+        long length = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            doubles[chunk] = chunks[chunk].asDoubleBuffer();
+            length += doubles[chunk].capacity();
+        }
+        return new WakeMatrix(doubles, (int) length);
+    }
+
+    /**
+     * Maps the cached table of ints with the given name for this problem, or
+     * returns {@code null} when no valid file exists yet.
+     */
+    WakeIndex readIndex(WFLOP wflop, String name) {
+        ByteBuffer[] chunks = map(file(wflop, name), INT_MAGIC, Integer.BYTES);
+        if (chunks == null) {
+            return null;
+        }
+
+        IntBuffer[] ints = new IntBuffer[chunks.length];
+        long length = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            ints[chunk] = chunks[chunk].asIntBuffer();
+            length += ints[chunk].capacity();
+        }
+        return new WakeIndex(ints, (int) length);
+    }
+
+    /**
+     * Publishes a computed table for later reads, returning whether the file
+     * is now in place.
+     */
+    boolean write(WFLOP wflop, String name, double[] values) {
+        return write(file(wflop, name), DOUBLE_MAGIC, values.length, Double.BYTES,
+                (buffer, index) -> buffer.putDouble(values[index]));
+    }
+
+    boolean write(WFLOP wflop, String name, int[] values) {
+        return write(file(wflop, name), INT_MAGIC, values.length, Integer.BYTES,
+                (buffer, index) -> buffer.putInt(values[index]));
+    }
+
+    private Path file(WFLOP wflop, String name) {
+        return directory.resolve(fingerprint(wflop) + "-" + name + ".bin");
+    }
+
+    // Little-endian chunks of at most CHUNK_BYTES covering the file's payload,
+    // or null when the file is missing, truncated or of another element type
+    private static ByteBuffer[] map(Path file, long magic, int elementBytes) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            long length = header.getLong(8);
+            if (header.getLong(0) != magic
+                    || length < 0
+                    || length > Integer.MAX_VALUE - 8
+                    || channel.size() != HEADER_BYTES + length * elementBytes) {
+                return null;
+            }
+
+            // The mappings stay valid after the channel is closed
+            long bytes = length * elementBytes;
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((bytes + CHUNK_BYTES - 1) / CHUNK_BYTES)];
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                long start = (long) chunk * CHUNK_BYTES;
+                chunks[chunk] = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + start,
+                        Math.min(CHUNK_BYTES, bytes - start)
+                ).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return chunks;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean write(Path file, long magic, int length, int elementBytes, ElementWriter elements) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putLong(magic).putLong(length);
+                for (int index = 0; index < length; index++) {
+                    if (buffer.remaining() < elementBytes) {
+                        drain(channel, buffer);
+                    }
+                    elements.put(buffer, index);
+                }
+                drain(channel, buffer);
+            }
+
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            // Another writer may have won, or the directory is read-only; either way the
+            // computed table is still valid for this run
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // nothing left to do
+                }
+            }
+            return false;
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @FunctionalInterface
+    private interface ElementWriter {
+        void put(ByteBuffer buffer, int index);
+    }
+}
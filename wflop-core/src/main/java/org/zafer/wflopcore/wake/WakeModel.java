@@ -2,9 +2,124 @@ package org.zafer.wflopcore.wake;
 
 import java.util.List;
 
+import org.zafer.wflopmodel.layout.TurbineLayout;
 import org.zafer.wflopmodel.wind.WindProfile;
 
+/**
+ * Layouts are passed as primitive cell arrays in any order; the
+ * {@link TurbineLayout} overloads evaluate its sorted cells, and the list
+ * overloads are kept for callers that still hold boxed layouts.
+ */
 public interface WakeModel {
 
-    double calculateEffectiveSpeed(int turbine, List<Integer> turbines, WindProfile windProfile);
+    double calculateEffectiveSpeed(int turbine, int[] turbines, WindProfile windProfile);
+
+    default double calculateEffectiveSpeed(int turbine, List<Integer> turbines, WindProfile windProfile) {
+        return calculateEffectiveSpeed(turbine, toArray(turbines), windProfile);
+    }
+
+    /**
+     * Returns the term that {@code upwind} adds to the deficit sum of {@code turbine}.
+     * Summing these over a layout and passing the result to
+     * {@link #calculateEffectiveSpeed(double, WindProfile)} yields the effective speed.
+     */
+    double calculateDeficit(int turbine, int upwind, WindProfile windProfile);
+
+    double calculateEffectiveSpeed(double deficitSum, WindProfile windProfile);
+
+    /**
+     * Fills {@code speeds} with the effective speed of one turbine of the layout
+     * under every profile, in list order.
+     */
+    default void calculateEffectiveSpeeds(
+            int turbine,
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        for (int profile = 0; profile < windProfiles.size(); profile++) {
+            speeds[profile] = calculateEffectiveSpeed(turbine, turbines, windProfiles.get(profile));
+        }
+    }
+
+    default void calculateEffectiveSpeeds(
+            int turbine,
+            List<Integer> turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        calculateEffectiveSpeeds(turbine, toArray(turbines), windProfiles, speeds);
+    }
+
+    /**
+     * Fills {@code speeds} with the effective speed of every turbine of the layout
+     * under every profile, laid out as [turbine][profile] in array order.
+     */
+    default void calculateEffectiveSpeeds(
+            int[] turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        int profileCount = windProfiles.size();
+        for (int i = 0; i < turbines.length; i++) {
+            int turbine = turbines[i];
+            for (int profile = 0; profile < profileCount; profile++) {
+                speeds[i * profileCount + profile] =
+                        calculateEffectiveSpeed(turbine, turbines, windProfiles.get(profile));
+            }
+        }
+    }
+
+    default void calculateEffectiveSpeeds(
+            List<Integer> turbines,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        calculateEffectiveSpeeds(toArray(turbines), windProfiles, speeds);
+    }
+
+    /**
+     * Same as the array form over the layout's sorted cells; models may use
+     * the layout's occupancy bitmap instead of building their own.
+     */
+    default void calculateEffectiveSpeeds(
+            TurbineLayout layout,
+            List<WindProfile> windProfiles,
+            double[] speeds
+    ) {
+        calculateEffectiveSpeeds(layout.getCells(), windProfiles, speeds);
+    }
+
+    /**
+     * Fills {@code speeds[i]} for the i-th layout as
+     * {@link #calculateEffectiveSpeeds(TurbineLayout, List, double[])} would.
+     * Models may evaluate the layouts together so that one table load serves
+     * every layout holding the pair.
+     */
+    default void calculateBatchEffectiveSpeeds(
+            List<TurbineLayout> layouts,
+            List<WindProfile> windProfiles,
+            double[][] speeds
+    ) {
+        for (int i = 0; i < layouts.size(); i++) {
+            calculateEffectiveSpeeds(layouts.get(i), windProfiles, speeds[i]);
+        }
+    }
+
+    /**
+     * Upper bound on how much the model may overestimate the effective speed
+     * of any turbine in a layout of {@code turbineCount} turbines; zero for
+     * models that evaluate every pair exactly.
+     */
+    default double getSpeedErrorBound(int turbineCount) {
+        return 0;
+    }
+
+    private static int[] toArray(List<Integer> turbines) {
+        int[] cells = new int[turbines.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = turbines.get(i);
+        }
+        return cells;
+    }
 }
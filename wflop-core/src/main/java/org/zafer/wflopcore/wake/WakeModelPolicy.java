@@ -1,20 +1,130 @@
 package org.zafer.wflopcore.wake;
 
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.zafer.wflopmodel.problem.WFLOP;
+
+/**
+ * Picks the fastest {@link WakeOptimization} whose precomputed tables fit in a
+ * memory budget, so large problems degrade to lighter representations
+ * instead of running out of heap.
+ *
+ * <p>The budget is the {@value #MEMORY_BUDGET_PROPERTY} system property in
+ * bytes when set, and half of the maximum heap otherwise, so the choice does
+ * not depend on how much garbage happens to be around when it is made.
+ */
 public class WakeModelPolicy {
 
-    private final boolean useDistanceMatrix;
-    private final boolean useIntersectedAreaMatrix;
+    private static final Logger logger = LoggerFactory.getLogger(WakeModelPolicy.class);
+
+    public static final String MEMORY_BUDGET_PROPERTY = "wflop.wake.memoryBudget";
+
+    // Ranked by WakeModelBenchmark throughput on the bundled problems, fastest
+    // first: the sparse rows skip every pair outside the wake, then the fused
+    // deficit table, then the sweep, and NONE only keeps the rotated coordinates
+    // and always fits. The sparse rows are the only tier that grows with cells
+    // squared, so a tight budget falls through to the deficit table. The pair
+    // matrices and the offset table are both slower and larger than the deficit
+    // table, so they are never listed. VECTOR_DEFICIT_TABLE needs the JVM to be
+    // started with --add-modules jdk.incubator.vector, which no launcher passes,
+    // so it is only used when asked for explicitly. The approximate CUTOFF_SWEEP
+    // and INTERPOLATED_OVERLAP are never picked on their own.
+    private static final List<WakeOptimization> PREFERENCE = List.of(
+            WakeOptimization.SPARSE_INFLUENCE,
+            WakeOptimization.DEFICIT_TABLE,
+            WakeOptimization.UPWIND_SWEEP,
+            WakeOptimization.NONE
+    );
+
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final long memoryBudget;
+
+    public WakeModelPolicy(long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative: " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+    }
+
+    public static WakeModelPolicy fromSystemProperty() {
+        Long configured = Long.getLong(MEMORY_BUDGET_PROPERTY);
+        if (configured != null) {
+            return new WakeModelPolicy(configured);
+        }
+
+        return new WakeModelPolicy(Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public WakeOptimization select(WFLOP wflop) {
+        int cellCount = wflop.getCellCount();
+        int directionCount = wflop.getWindRose().getDirectionCount();
+
+        for (WakeOptimization optimization : PREFERENCE) {
+            long footprint = estimateFootprint(optimization, cellCount, wflop.getDimension(), directionCount);
+            if (footprint >= 0 && footprint <= memoryBudget) {
+                logger.info("Selected wake optimization {} for {} cells x {} directions: ~{} KiB of {} KiB budget",
+                        optimization, cellCount, directionCount, footprint >> 10, memoryBudget >> 10);
+                return optimization;
+            }
+        }
+
+        logger.warn("No wake optimization fits the {} KiB budget for {} cells x {} directions; using NONE",
+                memoryBudget >> 10, cellCount, directionCount);
+        return WakeOptimization.NONE;
+    }
+
+    /**
+     * Bytes of precomputed tables the mode keeps for a problem of this size,
+     * or -1 when one of its arrays would exceed the maximum array length.
+     */
+    public static long estimateFootprint(
+            WakeOptimization optimization,
+            int cellCount,
+            int dimension,
+            int directionCount
+    ) {
+        long coordinates = (long) directionCount * cellCount * 2 * Double.BYTES;
+        long pairs = (long) cellCount * cellCount * directionCount;
+        long offsets = (long) directionCount * (2L * dimension - 1) * (2L * dimension - 1);
+        long cellIndex = (long) cellCount * Integer.BYTES;
+
+        long tables = switch (optimization) {
+            case NONE -> 0;
+            case DISTANCE_MATRIX -> arrayBytes(pairs * 2, Double.BYTES);
+            case INTERSECTION_MATRIX -> arrayBytes(pairs, Double.BYTES);
+            case BOTH -> sum(arrayBytes(pairs * 2, Double.BYTES), arrayBytes(pairs, Double.BYTES));
+            case OFFSET_TABLE -> offsets * 3 * Double.BYTES + cellIndex;
+            case DEFICIT_TABLE, VECTOR_DEFICIT_TABLE -> offsets * Double.BYTES + cellIndex;
+            // Upper bound: every pair within reach of the wake
+            case SPARSE_INFLUENCE -> sum(arrayBytes(pairs, Integer.BYTES + Double.BYTES),
+                    (pairs / cellCount + 1) * Integer.BYTES + cellIndex);
+            case LAZY_ROWS -> Math.min(pairs * 2 * Double.BYTES,
+                    Long.getLong(JensenWakeModel.LAZY_ROWS_MAX_BYTES_PROPERTY, JensenWakeModel.DEFAULT_LAZY_ROWS_MAX_BYTES));
+            case FLOAT_MATRICES -> sum(arrayBytes(pairs, Float.BYTES), arrayBytes(pairs, Float.BYTES));
+            case UPWIND_SWEEP, CUTOFF_SWEEP -> (long) directionCount * cellCount * Integer.BYTES;
+            case INTERPOLATED_OVERLAP -> sum((long) directionCount * cellCount * Integer.BYTES,
+                    arrayBytes((long) overlapTableSize() * overlapTableSize(), Double.BYTES));
+        };
+        return tables < 0 ? -1 : tables + coordinates;
+    }
 
-    public WakeModelPolicy(boolean useDistanceMatrix, boolean useIntersectedAreaMatrix) {
-        this.useDistanceMatrix = useDistanceMatrix;
-        this.useIntersectedAreaMatrix = useIntersectedAreaMatrix;
+    private static int overlapTableSize() {
+        return Integer.getInteger(JensenWakeModel.OVERLAP_TABLE_SIZE_PROPERTY, JensenWakeModel.DEFAULT_OVERLAP_TABLE_SIZE);
     }
 
-    public boolean useDistanceMatrix() {
-        return useDistanceMatrix;
+    private static long arrayBytes(long length, int elementBytes) {
+        return length > MAX_ARRAY_LENGTH ? -1 : length * elementBytes;
     }
 
-    public boolean useIntersectedAreaMatrix() {
-        return useIntersectedAreaMatrix;
+    private static long sum(long first, long second) {
+        return first < 0 || second < 0 ? -1 : first + second;
     }
 }
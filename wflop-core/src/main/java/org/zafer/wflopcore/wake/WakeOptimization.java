@@ -5,7 +5,16 @@ public enum WakeOptimization {
     NONE,
     DISTANCE_MATRIX,
     INTERSECTION_MATRIX,
-    BOTH;
+    BOTH,
+    OFFSET_TABLE,
+    DEFICIT_TABLE,
+    SPARSE_INFLUENCE,
+    VECTOR_DEFICIT_TABLE,
+    LAZY_ROWS,
+    FLOAT_MATRICES,
+    UPWIND_SWEEP,
+    CUTOFF_SWEEP,
+    INTERPOLATED_OVERLAP;
 
     public boolean useDistanceMatrix() {
         return this == DISTANCE_MATRIX || this == BOTH;
@@ -14,4 +23,87 @@ public enum WakeOptimization {
     public boolean useIntersectionMatrix() {
         return this == INTERSECTION_MATRIX || this == BOTH;
     }
+
+    /**
+     * Geometry between two cells of the square grid only depends on their
+     * offset, so this mode stores (2 * dimension - 1)^2 entries per distinct
+     * wind direction instead of one entry per cell pair.
+     */
+    public boolean useOffsetTable() {
+        return this == OFFSET_TABLE;
+    }
+
+    /**
+     * Folds the whole per-pair wake term into one precomputed coefficient per
+     * grid offset and distinct wind direction, so the hot loop is a single load
+     * and add.
+     */
+    public boolean useDeficitTable() {
+        return this == DEFICIT_TABLE || this == VECTOR_DEFICIT_TABLE;
+    }
+
+    /**
+     * Keeps, per cell and distinct wind direction, only the upwind cells whose
+     * wake reaches the cell (a compressed sparse row index), and sums those
+     * that are occupied.
+     */
+    public boolean useSparseInfluence() {
+        return this == SPARSE_INFLUENCE;
+    }
+
+    /**
+     * Sums the deficit table with the incubating Vector API when the
+     * {@code jdk.incubator.vector} module is present, and falls back to the
+     * scalar {@link #DEFICIT_TABLE} loop otherwise.
+     */
+    public boolean useVectorKernel() {
+        return this == VECTOR_DEFICIT_TABLE;
+    }
+
+    /**
+     * Computes the geometry row of a (cell, direction) pair the first time a
+     * turbine on that cell is evaluated and keeps it in a bounded LRU cache,
+     * trading a memory cap for recomputing rows of rarely used cells.
+     */
+    public boolean useLazyRows() {
+        return this == LAZY_ROWS;
+    }
+
+    /**
+     * Per-pair matrices like {@link #BOTH}, but holding only the downwind
+     * distance and the overlap area in single precision, a third of the
+     * memory. Use {@code PrecisionReport} to check the effect on a problem.
+     */
+    public boolean useFloatMatrices() {
+        return this == FLOAT_MATRICES;
+    }
+
+    /**
+     * Evaluates a whole layout by ordering its turbines along each wind
+     * direction once, so every turbine only visits the turbines upwind of it.
+     * Keeps no per-pair tables, only each cell's rank along every direction.
+     */
+    public boolean useUpwindSweep() {
+        return this == UPWIND_SWEEP || this == CUTOFF_SWEEP || this == INTERPOLATED_OVERLAP;
+    }
+
+    /**
+     * Approximate: ignores upwind turbines beyond the downwind distance at
+     * which a single wake term falls below a tolerance, so the sweep stops
+     * early and the cost per layout grows close to linearly with its size.
+     * The models report a bound on the resulting error.
+     */
+    public boolean useWakeCutoff() {
+        return this == CUTOFF_SWEEP;
+    }
+
+    /**
+     * Approximate: the upwind sweep with overlap areas interpolated from a
+     * per-problem bilinear table instead of the exact lens formula. Meant for
+     * problems too large for per-pair matrices; {@code OverlapAreaTable}
+     * reports the interpolation error.
+     */
+    public boolean useOverlapTable() {
+        return this == INTERPOLATED_OVERLAP;
+    }
 }
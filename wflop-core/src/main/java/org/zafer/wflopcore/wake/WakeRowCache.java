@@ -0,0 +1,112 @@
+package org.zafer.wflopcore.wake;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Size-bounded, thread-safe LRU cache of wake rows keyed by an int. Larger
+ * caches split the key space over independently locked segments, each
+ * evicting its own least recently used row, so concurrent evaluations rarely
+ * contend.
+ *
+ * <p>Missing rows are computed outside the lock; two threads missing the same
+ * row may both compute it, which is harmless since rows are deterministic.
+ */
+public class WakeRowCache {
+
+    private static final int MAX_SEGMENTS = 16;
+    // Small caches stay a single exact LRU; segmenting only pays off under load
+    private static final int MIN_ROWS_PER_SEGMENT = 64;
+
+    private final IntFunction<double[]> loader;
+    private final Segment[] segments;
+    private final int capacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public WakeRowCache(int capacity, IntFunction<double[]> loader) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Row cache capacity must be positive: " + capacity);
+        }
+
+        this.loader = loader;
+        this.capacity = capacity;
+
+        int segmentCount = Math.clamp(capacity / MIN_ROWS_PER_SEGMENT, 1, MAX_SEGMENTS);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the segment capacities add up to the total
+            int segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    public double[] get(int key) {
+        Segment segment = segments[Math.floorMod(key, segments.length)];
+
+        double[] row;
+        synchronized (segment) {
+            row = segment.get(key);
+        }
+        if (row != null) {
+            hits.increment();
+            return row;
+        }
+
+        misses.increment();
+        double[] loaded = loader.apply(key);
+        synchronized (segment) {
+            row = segment.putIfAbsent(key, loaded);
+        }
+        return row != null ? row : loaded;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private class Segment extends LinkedHashMap<Integer, double[]> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, double[]> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.zafer.wflopcore.power;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class IncrementalPowerStateTest {
+
+    private static final List<Integer> LAYOUT = List.of(0, 3, 7, 8, 14, 20, 21, 27, 33, 35);
+    private static final double TOLERANCE = 1e-9;
+
+    private PowerCalculator powerCalculator;
+
+    @BeforeEach
+    void setUp() {
+        WFLOP problem = new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            6,
+            LAYOUT.size(),
+            List.of(
+                new WindProfile(8.0, 270, 0.4),
+                new WindProfile(12.0, 45, 0.3),
+                new WindProfile(10.0, 180, 0.3)
+            )
+        );
+        powerCalculator = new PowerCalculator(
+            problem,
+            new DefaultWakeModelProvider(),
+            WakeOptimization.DEFICIT_TABLE
+        );
+    }
+
+    @Test
+    void initialPower_WhenCreated_MatchesFullEvaluation() {
+        // When
+        IncrementalPowerState state = powerCalculator.createIncrementalState(new TurbineLayout(LAYOUT));
+
+        // Then
+        assertEquals(fullPower(LAYOUT), state.getTotalPower(), TOLERANCE);
+    }
+
+    @Test
+    void move_WhenTurbineMoved_MatchesFullEvaluation() {
+        // Given
+        IncrementalPowerState state = powerCalculator.createIncrementalState(new TurbineLayout(LAYOUT));
+
+        // When
+        double power = state.move(7, 16);
+
+        // Then
+        assertEquals(fullPower(state.getTurbines()), power, TOLERANCE);
+        assertFalse(state.contains(7));
+        assertTrue(state.contains(16));
+    }
+
+    @Test
+    void addAndRemove_WhenApplied_MatchFullEvaluation() {
+        // Given
+        IncrementalPowerState state = powerCalculator.createIncrementalState(new TurbineLayout(LAYOUT));
+
+        // When
+        double afterAdd = state.add(25);
+        List<Integer> grown = state.getTurbines();
+        double afterRemove = state.remove(0);
+
+        // Then
+        assertEquals(fullPower(grown), afterAdd, TOLERANCE);
+        assertEquals(fullPower(state.getTurbines()), afterRemove, TOLERANCE);
+        assertEquals(LAYOUT.size(), state.size());
+    }
+
+    @Test
+    void rollback_WhenChangesNotCommitted_RestoresCommittedLayout() {
+        // Given
+        IncrementalPowerState state = powerCalculator.createIncrementalState(new TurbineLayout(LAYOUT));
+        double committedPower = state.move(3, 4);
+        state.commit();
+
+        // When
+        state.move(14, 15);
+        state.remove(20);
+        state.rollback();
+
+        // Then
+        assertEquals(committedPower, state.getTotalPower(), TOLERANCE);
+        assertTrue(state.contains(4));
+        assertTrue(state.contains(14));
+        assertTrue(state.contains(20));
+        assertFalse(state.contains(15));
+        double afterMove = state.move(8, 9);
+        assertEquals(fullPower(state.getTurbines()), afterMove, TOLERANCE);
+    }
+
+    @Test
+    void move_AfterTenThousandMoves_StaysAtFullEvaluation() {
+        // Given
+        IncrementalPowerState state = powerCalculator.createIncrementalState(new TurbineLayout(LAYOUT));
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            List<Integer> turbines = state.getTurbines();
+            int from = turbines.get(random.nextInt(turbines.size()));
+            int to = random.nextInt(36);
+            while (state.contains(to)) {
+                to = random.nextInt(36);
+            }
+            state.move(from, to);
+            if (random.nextBoolean()) {
+                state.commit();
+            } else {
+                state.rollback();
+            }
+        }
+
+        // Then
+        assertEquals(fullPower(state.getTurbines()), state.getTotalPower(), TOLERANCE);
+    }
+
+    @Test
+    void rollback_AfterAddAndMove_RestoresCommittedPower() {
+        // Given
+        IncrementalPowerState state = powerCalculator.createIncrementalState(new TurbineLayout(LAYOUT));
+        double committedPower = state.getTotalPower();
+
+        // When
+        state.add(25);
+        state.move(25, 26);
+        state.move(0, 1);
+        state.rollback();
+
+        // Then
+        assertEquals(committedPower, state.getTotalPower());
+        assertEquals(LAYOUT, state.getTurbines());
+        double afterMove = state.move(3, 4);
+        assertEquals(fullPower(state.getTurbines()), afterMove, TOLERANCE);
+    }
+
+    @Test
+    void add_WhenCellOccupied_Throws() {
+        // Given
+        IncrementalPowerState state = powerCalculator.createIncrementalState(new TurbineLayout(LAYOUT));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> state.add(0));
+    }
+
+    private double fullPower(List<Integer> turbines) {
+        return powerCalculator.calculateTotalPower(new TurbineLayout(turbines));
+    }
+}
@@ -0,0 +1,110 @@
+package org.zafer.wflopcore.power;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class PowerCalculatorRegistryTest {
+
+    @Test
+    void get_WhenLeasesShareProblem_ReturnsSameCalculator() {
+        // Given
+        PowerCalculatorRegistry registry = new PowerCalculatorRegistry(new DefaultWakeModelProvider());
+
+        // When
+        try (PowerCalculatorRegistry.Lease first = registry.acquire(createWflop());
+             PowerCalculatorRegistry.Lease second = registry.acquire(createWflop())) {
+
+            // Then
+            assertSame(first.get(WakeOptimization.BOTH), second.get(WakeOptimization.BOTH));
+            assertNotSame(first.get(WakeOptimization.BOTH), first.get(WakeOptimization.NONE));
+            assertEquals(1, registry.size());
+        }
+    }
+
+    @Test
+    void acquire_WhenOnlyWindSpeedsDiffer_KeepsSeparateCalculators() {
+        // Given
+        PowerCalculatorRegistry registry = new PowerCalculatorRegistry(new DefaultWakeModelProvider());
+
+        // When
+        try (PowerCalculatorRegistry.Lease first = registry.acquire(createWflop(8.0));
+             PowerCalculatorRegistry.Lease second = registry.acquire(createWflop(9.0))) {
+
+            // Then
+            assertNotSame(first.get(WakeOptimization.BOTH), second.get(WakeOptimization.BOTH));
+            assertEquals(2, registry.size());
+        }
+    }
+
+    @Test
+    void get_WhenLeasesShareProblem_ReportSingleBuildTime() {
+        // Given
+        PowerCalculatorRegistry registry = new PowerCalculatorRegistry(new DefaultWakeModelProvider());
+
+        // When
+        try (PowerCalculatorRegistry.Lease first = registry.acquire(createWflop());
+             PowerCalculatorRegistry.Lease second = registry.acquire(createWflop())) {
+            double built = first.get(WakeOptimization.BOTH).getWakeModelBuildTime();
+            double reused = second.get(WakeOptimization.BOTH).withEvaluationPool(new ForkJoinPool(1))
+                    .getWakeModelBuildTime();
+
+            // Then
+            assertTrue(built > 0, "build time " + built);
+            assertEquals(built, reused);
+        }
+    }
+
+    @Test
+    void close_WhenLastLeaseReleased_DropsCalculators() {
+        // Given
+        PowerCalculatorRegistry registry = new PowerCalculatorRegistry(new DefaultWakeModelProvider());
+        PowerCalculatorRegistry.Lease first = registry.acquire(createWflop());
+        PowerCalculatorRegistry.Lease second = registry.acquire(createWflop());
+        PowerCalculator shared = first.get(WakeOptimization.BOTH);
+
+        // When
+        first.close();
+        first.close();
+        int sizeWhileHeld = registry.size();
+        second.close();
+
+        // Then
+        assertEquals(1, sizeWhileHeld);
+        assertEquals(0, registry.size());
+        assertThrows(IllegalStateException.class, () -> first.get(WakeOptimization.BOTH));
+        try (PowerCalculatorRegistry.Lease next = registry.acquire(createWflop())) {
+            assertNotSame(shared, next.get(WakeOptimization.BOTH));
+        }
+    }
+
+    private static WFLOP createWflop() {
+        return createWflop(8.0);
+    }
+
+    private static WFLOP createWflop(double firstSpeed) {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            5,
+            4,
+            List.of(
+                new WindProfile(firstSpeed, 270, 0.6),
+                new WindProfile(12.0, 90, 0.4)
+            )
+        );
+    }
+}
@@ -0,0 +1,201 @@
+package org.zafer.wflopcore.power;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.JensenWakeModel;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class PowerCalculatorTest {
+
+    private static final int[][] LAYOUTS = {
+        {0, 3, 7, 8, 14, 20, 21, 27, 33, 35},
+        {1, 2, 9, 11, 16, 18, 24, 29, 30, 34},
+        {0, 5, 10, 15, 19, 22, 25, 28, 31, 32},
+        {4, 6, 12, 13, 17, 23, 26, 30, 33, 35},
+        {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}
+    };
+
+    @ParameterizedTest(name = "parallelism {0}")
+    @ValueSource(ints = {1, 4})
+    void evaluateBatch_MatchesSequentialEvaluation(int parallelism) {
+        // Given
+        PowerCalculator powerCalculator = createPowerCalculator();
+        double[] expected = new double[LAYOUTS.length];
+        List<TurbineLayout> layouts = new ArrayList<>();
+        for (int i = 0; i < LAYOUTS.length; i++) {
+            List<Integer> turbines = new ArrayList<>();
+            for (int cell : LAYOUTS[i]) {
+                turbines.add(cell);
+            }
+            layouts.add(new TurbineLayout(turbines));
+            expected[i] = powerCalculator.calculateTotalPower(layouts.get(i));
+        }
+
+        double[] fromArrays = new double[LAYOUTS.length];
+        double[] fromLayouts = new double[LAYOUTS.length];
+
+        // When
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            PowerCalculator pooled = powerCalculator.withEvaluationPool(pool);
+            pooled.evaluateBatch(LAYOUTS, fromArrays);
+            pooled.evaluateBatch(layouts, fromLayouts);
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        assertArrayEquals(expected, fromArrays);
+        assertArrayEquals(expected, fromLayouts);
+    }
+
+    @ParameterizedTest(name = "parallelism {0}")
+    @ValueSource(ints = {1, 4})
+    void evaluateBatch_WhenDeficitTableBatchSpansBlocks_MatchesSequentialEvaluation(int parallelism) {
+        // Given: 70 children of one parent, each with a single turbine moved
+        PowerCalculator powerCalculator =
+                new PowerCalculator(createWflop(), new DefaultWakeModelProvider(), WakeOptimization.DEFICIT_TABLE);
+        int[] parent = LAYOUTS[0];
+        List<TurbineLayout> children = new ArrayList<>();
+        for (int free = 0; children.size() < 70; free = (free + 1) % 36) {
+            int[] child = parent.clone();
+            int moved = children.size() % parent.length;
+            child[moved] = free;
+            if (free != parent[moved] && !contains(parent, free)) {
+                children.add(new TurbineLayout(child));
+            }
+        }
+        double[] expected = new double[children.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = powerCalculator.calculateTotalPower(children.get(i));
+        }
+        double[] actual = new double[expected.length];
+
+        // When
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            powerCalculator.withEvaluationPool(pool).evaluateBatch(children, actual);
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then: the batch kernel only groups the sums differently
+        assertArrayEquals(expected, actual, expected[0] * 1e-12);
+    }
+
+    @Test
+    void calculatePowerErrorBound_WhenCutoffSweep_BoundsTotalPowerDeviation() {
+        // Given
+        PowerCalculator exact = createPowerCalculator();
+        PowerCalculator approximate = new PowerCalculator(
+            createWflop(),
+            (wflop, optimization) -> new JensenWakeModel(wflop, optimization, null, 1e-2),
+            WakeOptimization.CUTOFF_SWEEP
+        );
+
+        // When
+        double bound = approximate.calculatePowerErrorBound(LAYOUTS[0].length);
+
+        // Then
+        assertEquals(0, exact.calculatePowerErrorBound(LAYOUTS[0].length));
+        for (int[] cells : LAYOUTS) {
+            TurbineLayout layout = new TurbineLayout(cells);
+            double deviation = Math.abs(approximate.calculateTotalPower(layout) - exact.calculateTotalPower(layout));
+            assertTrue(deviation <= bound, deviation + " exceeds the bound " + bound);
+        }
+    }
+
+    @Test
+    void calculateBreakdown_MatchesTotalAndPerTurbinePower() {
+        // Given
+        PowerCalculator powerCalculator = createPowerCalculator();
+        List<Integer> turbines = new ArrayList<>();
+        for (int cell : LAYOUTS[0]) {
+            turbines.add(cell);
+        }
+        TurbineLayout layout = new TurbineLayout(turbines);
+
+        // When
+        PowerBreakdown breakdown = powerCalculator.calculateBreakdown(layout);
+
+        // Then
+        assertEquals(powerCalculator.calculateTotalPower(layout), breakdown.getTotalPower());
+        assertEquals(turbines.size(), breakdown.getTurbineCount());
+        for (int i = 0; i < turbines.size(); i++) {
+            assertEquals(turbines.get(i), breakdown.getTurbine(i));
+            assertEquals(powerCalculator.calculatePower(turbines.get(i), turbines), breakdown.getTurbinePower(i), 1e-9);
+        }
+
+        assertEquals(3, breakdown.getDirectionCount());
+        assertEquals(270, breakdown.getDirectionAngle(0));
+        double directionTotal = 0;
+        for (double power : breakdown.getDirectionPowers()) {
+            directionTotal += power;
+        }
+        assertEquals(breakdown.getTotalPower(), directionTotal, 1e-9);
+    }
+
+    @Test
+    void calculateBreakdown_WhenCellsGivenInAnotherOrder_ReordersTurbinePowers() {
+        // Given
+        PowerCalculator powerCalculator = createPowerCalculator();
+        int[] clientOrder = {35, 0, 27, 3, 21, 7, 20, 8, 14, 33};
+        PowerBreakdown breakdown = powerCalculator.calculateBreakdown(new TurbineLayout(clientOrder));
+
+        // When
+        double[] powers = breakdown.getTurbinePowers(clientOrder);
+
+        // Then
+        for (int i = 0; i < clientOrder.length; i++) {
+            int index = 0;
+            while (breakdown.getTurbine(index) != clientOrder[i]) {
+                index++;
+            }
+            assertEquals(breakdown.getTurbinePower(index), powers[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> breakdown.getTurbinePowers(new int[] {1}));
+    }
+
+    private static PowerCalculator createPowerCalculator() {
+        return new PowerCalculator(createWflop(), new DefaultWakeModelProvider(), WakeOptimization.BOTH);
+    }
+
+    private static WFLOP createWflop() {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            6,
+            10,
+            List.of(
+                new WindProfile(8.0, 270, 0.3),
+                new WindProfile(12.0, 45, 0.3),
+                new WindProfile(10.0, 180, 0.3),
+                new WindProfile(14.0, 270, 0.1)
+            )
+        );
+    }
+
+    private static boolean contains(int[] cells, int cell) {
+        for (int c : cells) {
+            if (c == cell) return true;
+        }
+        return false;
+    }
+}
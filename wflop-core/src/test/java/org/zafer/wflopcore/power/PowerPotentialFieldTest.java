@@ -0,0 +1,129 @@
+package org.zafer.wflopcore.power;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class PowerPotentialFieldTest {
+
+    private static final int DIMENSION = 6;
+    private static final List<Integer> LAYOUT = List.of(0, 3, 7, 8, 14, 20, 21, 27, 33, 35);
+    private static final double TOLERANCE = 1e-9;
+
+    private PowerCalculator powerCalculator;
+
+    @BeforeEach
+    void setUp() {
+        WFLOP problem = new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            DIMENSION,
+            LAYOUT.size(),
+            List.of(
+                new WindProfile(8.0, 270, 0.3),
+                new WindProfile(12.0, 45, 0.3),
+                new WindProfile(10.0, 180, 0.3),
+                new WindProfile(14.0, 270, 0.1)
+            )
+        );
+        powerCalculator = new PowerCalculator(problem, new DefaultWakeModelProvider(), WakeOptimization.DEFICIT_TABLE);
+    }
+
+    @Test
+    void getPower_WhenLayoutChangesIncrementally_MatchesFullEvaluation() {
+        // Given
+        PowerPotentialField field = powerCalculator.createPotentialField(new TurbineLayout(LAYOUT));
+        List<Integer> layout = List.of(0, 3, 7, 9, 16, 20, 21, 27, 33, 34);
+
+        // When
+        field.remove(14);
+        field.add(16);
+        field.setLayout(new TurbineLayout(layout));
+
+        // Then
+        for (int cell = 0; cell < DIMENSION * DIMENSION; cell++) {
+            assertEquals(powerCalculator.calculatePower(cell, layout), field.getPower(cell), TOLERANCE);
+        }
+    }
+
+    @Test
+    void setLayout_AfterTenThousandSmallChanges_MatchesFullEvaluation() {
+        // Given
+        PowerPotentialField field = powerCalculator.createPotentialField(new TurbineLayout(LAYOUT));
+        List<Integer> layout = new ArrayList<>(LAYOUT);
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            int to = random.nextInt(DIMENSION * DIMENSION);
+            while (layout.contains(to)) {
+                to = random.nextInt(DIMENSION * DIMENSION);
+            }
+            layout.set(random.nextInt(layout.size()), to);
+            field.setLayout(new TurbineLayout(layout));
+        }
+
+        // Then
+        for (int cell = 0; cell < DIMENSION * DIMENSION; cell++) {
+            assertEquals(powerCalculator.calculatePower(cell, layout), field.getPower(cell), TOLERANCE);
+        }
+    }
+
+    @Test
+    void topFreeCells_ReturnsHighestPowerEmptyCellsBestFirst() {
+        // Given
+        PowerPotentialField field = powerCalculator.createPotentialField(new TurbineLayout(LAYOUT));
+        List<Integer> freeCells = new ArrayList<>();
+        for (int cell = 0; cell < DIMENSION * DIMENSION; cell++) {
+            if (!LAYOUT.contains(cell)) {
+                freeCells.add(cell);
+            }
+        }
+        freeCells.sort(Comparator.comparingDouble((Integer cell) -> -powerCalculator.calculatePower(cell, LAYOUT))
+            .thenComparingInt(cell -> cell));
+
+        // When
+        int[] top = field.topFreeCells(5);
+
+        // Then
+        assertEquals(5, top.length);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(powerCalculator.calculatePower(freeCells.get(i), LAYOUT),
+                powerCalculator.calculatePower(top[i], LAYOUT), TOLERANCE);
+            assertFalse(field.contains(top[i]));
+        }
+    }
+
+    @Test
+    void topFreeCells_WhenFewerFreeCellsThanRequested_ReturnsAllFreeCells() {
+        // Given
+        List<Integer> crowded = new ArrayList<>();
+        for (int cell = 0; cell < DIMENSION * DIMENSION - 2; cell++) {
+            crowded.add(cell);
+        }
+        PowerPotentialField field = powerCalculator.createPotentialField(new TurbineLayout(crowded));
+
+        // When
+        int[] top = field.topFreeCells(5);
+
+        // Then
+        assertEquals(2, top.length);
+    }
+}
@@ -0,0 +1,57 @@
+package org.zafer.wflopcore.power;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
+import org.zafer.wflopcore.wake.WakeOptimization;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class PrecisionReportTest {
+
+    @Test
+    void compare_WhenSameOptimization_ReportsNoDeviation() {
+        // When
+        PrecisionReport report = PrecisionReport.compare(
+            createWflop(), new DefaultWakeModelProvider(), WakeOptimization.BOTH, WakeOptimization.BOTH, 20, 42L);
+
+        // Then
+        assertEquals(20, report.getLayoutCount());
+        assertEquals(0.0, report.getMaxRelativeDeviation());
+    }
+
+    @Test
+    void compare_WhenFloatMatrices_StaysWithinSinglePrecision() {
+        // When
+        PrecisionReport report = PrecisionReport.compare(
+            createWflop(), new DefaultWakeModelProvider(), WakeOptimization.BOTH, WakeOptimization.FLOAT_MATRICES,
+            50, 42L);
+
+        // Then
+        assertTrue(report.getMaxRelativeDeviation() < 1e-5, report.toString());
+        assertTrue(report.getMeanRelativeDeviation() <= report.getMaxRelativeDeviation());
+    }
+
+    private static WFLOP createWflop() {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            8,
+            12,
+            List.of(
+                new WindProfile(8.0, 270, 0.4),
+                new WindProfile(12.0, 45, 0.3),
+                new WindProfile(10.0, 180, 0.3)
+            )
+        );
+    }
+}
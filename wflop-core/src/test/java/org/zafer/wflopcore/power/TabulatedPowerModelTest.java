@@ -0,0 +1,115 @@
+package org.zafer.wflopcore.power;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TabulatedPowerModelTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void load_WhenCurveOnClasspath_InterpolatesBetweenPoints() {
+        // Given
+        TabulatedPowerModel model = TabulatedPowerModel.load("test_power_curve.json");
+
+        // When / Then
+        assertEquals(100.0, model.getPowerOutput(5.0), TOLERANCE);
+        assertEquals(550.0, model.getPowerOutput(7.5), TOLERANCE);
+        assertEquals(1250.0, model.getPowerOutput(11.0), TOLERANCE);
+        assertEquals(1500.0, model.getPowerOutput(25.0), TOLERANCE);
+    }
+
+    @Test
+    void getPowerOutput_WhenOutsideCurve_ReturnsZero() {
+        // Given
+        TabulatedPowerModel model = TabulatedPowerModel.load("test_power_curve.json");
+
+        // When / Then
+        assertEquals(0.0, model.getPowerOutput(2.99));
+        assertEquals(0.0, model.getPowerOutput(25.01));
+    }
+
+    @Test
+    void getPowerOutput_WhenSpeedNotFinite_ReturnsZero() {
+        // Given
+        TabulatedPowerModel model = TabulatedPowerModel.load("test_power_curve.json");
+        double[] speeds = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] out = new double[speeds.length];
+
+        // When
+        model.getPowerOutputs(speeds, out);
+
+        // Then
+        for (int i = 0; i < speeds.length; i++) {
+            assertEquals(0.0, model.getPowerOutput(speeds[i]));
+            assertEquals(0.0, out[i]);
+        }
+    }
+
+    @Test
+    void defaultPowerModelProvider_WhenPowerCurveConfigured_UsesTabulatedModel() {
+        // Given
+        String previous = System.setProperty(DefaultPowerModelProvider.POWER_CURVE_PROPERTY, "test_power_curve.json");
+
+        try {
+            // When
+            PowerModel model = new DefaultPowerModelProvider().create();
+
+            // Then
+            assertInstanceOf(TabulatedPowerModel.class, model);
+            assertEquals(550.0, model.getPowerOutput(7.5), TOLERANCE);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(DefaultPowerModelProvider.POWER_CURVE_PROPERTY);
+            } else {
+                System.setProperty(DefaultPowerModelProvider.POWER_CURVE_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void defaultPowerModelProvider_WhenNoPowerCurveConfigured_UsesGeModel() {
+        // Given
+        String previous = System.clearProperty(DefaultPowerModelProvider.POWER_CURVE_PROPERTY);
+
+        try {
+            // When / Then
+            assertInstanceOf(GEOnePointFiveSLEPowerModel.class, new DefaultPowerModelProvider().create());
+        } finally {
+            if (previous != null) {
+                System.setProperty(DefaultPowerModelProvider.POWER_CURVE_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void getPowerOutputs_MatchesScalarLookupAndCurve() {
+        // Given
+        PowerCurve curve = new PowerCurve(
+            new double[] {2.0, 4.0, 7.3, 12.8, 18.0},
+            new double[] {2.4, 19.2, 116.7, 629.1, 629.1}
+        );
+        TabulatedPowerModel model = new TabulatedPowerModel(curve, 0.05);
+        double[] speeds = {0.0, 2.0, 3.33, 6.01, 9.99, 12.8, 15.5, 18.0, 18.5};
+        double[] out = new double[speeds.length];
+
+        // When
+        model.getPowerOutputs(speeds, out);
+
+        // Then
+        for (int i = 0; i < speeds.length; i++) {
+            assertEquals(model.getPowerOutput(speeds[i]), out[i]);
+            // The curve is piecewise linear, so resampling only errs on intervals holding a knot
+            assertEquals(curve.interpolate(speeds[i]), out[i], 1.0);
+        }
+    }
+
+    @Test
+    void powerCurve_WhenSpeedsNotIncreasing_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new PowerCurve(
+            new double[] {3.0, 3.0, 5.0},
+            new double[] {0.0, 1.0, 2.0}
+        ));
+    }
+}
@@ -0,0 +1,331 @@
+package org.zafer.wflopcore.wake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class JensenWakeModelTest {
+
+    private static final int DIMENSION = 6;
+    private static final List<Integer> LAYOUT = List.of(0, 3, 7, 8, 14, 20, 21, 27, 33, 35);
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, mode = EnumSource.Mode.EXCLUDE, names = {"FLOAT_MATRICES", "INTERPOLATED_OVERLAP"})
+    void matchesOnTheFlyModel_ForEveryOptimization(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel reference = new JensenWakeModel(problem, WakeOptimization.NONE);
+        JensenWakeModel optimized = new JensenWakeModel(problem, optimization);
+
+        // When / Then
+        for (WindProfile windProfile : problem.getWindProfiles()) {
+            for (int turbine : LAYOUT) {
+                double expected = reference.calculateEffectiveSpeed(turbine, LAYOUT, windProfile);
+                double actual = optimized.calculateEffectiveSpeed(turbine, LAYOUT, windProfile);
+                assertEquals(expected, actual, 1e-9,
+                    "turbine " + turbine + " at angle " + windProfile.getAngle());
+            }
+        }
+    }
+
+    @Test
+    void floatMatrices_MatchOnTheFlyModelToSinglePrecision() {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel reference = new JensenWakeModel(problem, WakeOptimization.NONE);
+        JensenWakeModel optimized = new JensenWakeModel(problem, WakeOptimization.FLOAT_MATRICES);
+
+        // When / Then
+        for (WindProfile windProfile : problem.getWindProfiles()) {
+            for (int turbine : LAYOUT) {
+                double expected = reference.calculateEffectiveSpeed(turbine, LAYOUT, windProfile);
+                double actual = optimized.calculateEffectiveSpeed(turbine, LAYOUT, windProfile);
+                assertEquals(expected, actual, expected * 1e-6);
+            }
+        }
+    }
+
+    // Effective speeds of LAYOUT under createWflop() from the original
+    // per-pair implementation, one row per wind profile
+    private static final double[][] BASELINE_SPEEDS = {
+        {8.0, 7.4375973361258065, 8.0, 6.396913044495458, 8.0, 8.0, 6.396913044495458, 8.0, 8.0, 6.765650608721229},
+        {12.0, 11.15639600418871, 12.0, 9.595369566743187, 12.0, 12.0, 9.595369566743187, 12.0, 12.0, 10.148475913081842},
+        {7.095387490589067, 10.0, 7.285109170452964, 10.0, 7.522460057371509, 7.516832172442519, 8.754048073858876, 9.217518740245293, 10.0, 10.0},
+        {9.0, 9.0, 9.0, 9.0, 5.765157697562371, 5.186719198335775, 7.620783351807987, 5.613671975519847, 5.111700555991288, 9.0},
+        {13.0, 9.473295960015532, 13.0, 13.0, 13.0, 13.0, 13.0, 13.0, 13.0, 13.0}
+    };
+
+    // The deficit is now computed once per pair rather than per wind speed,
+    // which rounds differently in the last couple of bits
+    private static final double BASELINE_RELATIVE_TOLERANCE = 1e-12;
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, names = {"NONE", "DISTANCE_MATRIX", "INTERSECTION_MATRIX", "BOTH", "LAZY_ROWS"})
+    void calculateEffectiveSpeed_MatchesBaselineWithinTolerance(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel model = new JensenWakeModel(problem, optimization);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+
+        // When / Then
+        for (int profile = 0; profile < windProfiles.size(); profile++) {
+            for (int i = 0; i < LAYOUT.size(); i++) {
+                double expected = BASELINE_SPEEDS[profile][i];
+                double actual = model.calculateEffectiveSpeed(LAYOUT.get(i), LAYOUT, windProfiles.get(profile));
+                assertEquals(expected, actual, expected * BASELINE_RELATIVE_TOLERANCE);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, names = {"INTERSECTION_MATRIX", "BOTH", "LAZY_ROWS"})
+    void matrixOptimizations_AreBitIdenticalToDistanceMatrix(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel reference = new JensenWakeModel(problem, WakeOptimization.DISTANCE_MATRIX);
+        JensenWakeModel optimized = new JensenWakeModel(problem, optimization);
+
+        // When / Then
+        for (WindProfile windProfile : problem.getWindProfiles()) {
+            for (int turbine = 0; turbine < problem.getCellCount(); turbine++) {
+                assertEquals(
+                    reference.calculateEffectiveSpeed(turbine, LAYOUT, windProfile),
+                    optimized.calculateEffectiveSpeed(turbine, LAYOUT, windProfile));
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(WakeOptimization.class)
+    void calculateEffectiveSpeeds_MatchesPerTurbineSpeeds(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel model = new JensenWakeModel(problem, optimization);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        double[] speeds = new double[LAYOUT.size() * windProfiles.size()];
+
+        // When
+        model.calculateEffectiveSpeeds(LAYOUT, windProfiles, speeds);
+
+        // Then
+        for (int i = 0; i < LAYOUT.size(); i++) {
+            for (int profile = 0; profile < windProfiles.size(); profile++) {
+                double expected = model.calculateEffectiveSpeed(LAYOUT.get(i), LAYOUT, windProfiles.get(profile));
+                assertEquals(expected, speeds[i * windProfiles.size() + profile], 1e-12);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(WakeOptimization.class)
+    void calculateEffectiveSpeeds_WhenGivenTurbineLayout_MatchesSortedArraySpeeds(WakeOptimization optimization) {
+        // Given: the layout's occupancy bitmap stops well short of the last cell
+        WFLOP problem = createWflop();
+        JensenWakeModel model = new JensenWakeModel(problem, optimization);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        TurbineLayout layout = new TurbineLayout(new int[] {14, 0, 8, 3, 7});
+        double[] expected = new double[layout.size() * windProfiles.size()];
+        double[] actual = new double[expected.length];
+        model.calculateEffectiveSpeeds(new int[] {0, 3, 7, 8, 14}, windProfiles, expected);
+
+        // When
+        model.calculateEffectiveSpeeds(layout, windProfiles, actual);
+
+        // Then
+        assertArrayEquals(expected, actual, 1e-12);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(WakeOptimization.class)
+    void calculateEffectiveSpeeds_WhenSpeedBinsShareDirection_MatchesPerProfileSpeeds(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel model = new JensenWakeModel(problem, optimization);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        double[] speeds = new double[windProfiles.size()];
+
+        for (int turbine : LAYOUT) {
+            // When
+            model.calculateEffectiveSpeeds(turbine, LAYOUT, windProfiles, speeds);
+
+            // Then
+            for (int profile = 0; profile < windProfiles.size(); profile++) {
+                double expected = model.calculateEffectiveSpeed(turbine, LAYOUT, windProfiles.get(profile));
+                assertEquals(expected, speeds[profile], 1e-12);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(WakeOptimization.class)
+    void calculateDeficit_SumsToEffectiveSpeed(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel model = new JensenWakeModel(problem, optimization);
+
+        // When / Then
+        for (WindProfile windProfile : problem.getWindProfiles()) {
+            for (int turbine : LAYOUT) {
+                double sum = 0;
+                for (int upwind : LAYOUT) {
+                    sum += model.calculateDeficit(turbine, upwind, windProfile);
+                }
+                assertEquals(
+                    model.calculateEffectiveSpeed(turbine, LAYOUT, windProfile),
+                    model.calculateEffectiveSpeed(sum, windProfile),
+                    1e-9);
+            }
+        }
+    }
+
+    @Test
+    void windRose_WhenProblemsShareProfiles_IndexesEachProblemIndependently() {
+        // Given
+        WindProfile west = new WindProfile(8.0, 270, 0.5);
+        WindProfile northEast = new WindProfile(10.0, 45, 0.3);
+        WindProfile south = new WindProfile(9.0, 180, 0.2);
+        WFLOP first = createWflop(List.of(west, northEast, south));
+        WFLOP second = createWflop(List.of(south, west));
+        JensenWakeModel firstModel = new JensenWakeModel(first, WakeOptimization.DEFICIT_TABLE);
+        JensenWakeModel secondModel = new JensenWakeModel(second, WakeOptimization.DEFICIT_TABLE);
+
+        // When
+        WindProfile secondWest = second.getWindProfiles().get(1);
+        WindProfile firstWest = first.getWindProfiles().get(0);
+
+        // Then
+        assertEquals(-1, west.getIndex());
+        assertEquals(1, secondWest.getIndex());
+        assertEquals(1.0, second.getWindRose().getProbability(0) + second.getWindRose().getProbability(1), 1e-15);
+        for (int turbine : LAYOUT) {
+            assertEquals(
+                firstModel.calculateEffectiveSpeed(turbine, LAYOUT, firstWest),
+                secondModel.calculateEffectiveSpeed(turbine, LAYOUT, secondWest),
+                1e-12);
+        }
+    }
+
+    @Test
+    void calculateEffectiveSpeeds_WhenCutoffSweep_StaysWithinSpeedErrorBound() {
+        // Given: a tolerance loose enough to cut pairs inside the 1200 m grid
+        WFLOP problem = createWflop();
+        JensenWakeModel exact = new JensenWakeModel(problem, WakeOptimization.NONE);
+        JensenWakeModel approximate = new JensenWakeModel(problem, WakeOptimization.CUTOFF_SWEEP, null, 1e-2);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        double[] expected = new double[LAYOUT.size() * windProfiles.size()];
+        double[] actual = new double[expected.length];
+        exact.calculateEffectiveSpeeds(LAYOUT, windProfiles, expected);
+
+        // When
+        approximate.calculateEffectiveSpeeds(LAYOUT, windProfiles, actual);
+
+        // Then
+        double bound = approximate.getSpeedErrorBound(LAYOUT.size());
+        assertTrue(approximate.getCutoffDistance() < 1200);
+        assertEquals(Double.POSITIVE_INFINITY, exact.getCutoffDistance());
+        assertEquals(0, exact.getSpeedErrorBound(LAYOUT.size()));
+        boolean pruned = false;
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(actual[i] >= expected[i] - 1e-12, "Dropping wakes cannot slow a turbine down");
+            assertTrue(actual[i] - expected[i] <= bound);
+            pruned |= actual[i] > expected[i] + 1e-12;
+        }
+        assertTrue(pruned, "The cut-off should drop at least one wake");
+    }
+
+    @Test
+    void interpolatedOverlap_MatchesOnTheFlyModelWithinTableError() {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel exact = new JensenWakeModel(problem, WakeOptimization.NONE);
+        JensenWakeModel interpolated = new JensenWakeModel(problem, WakeOptimization.INTERPOLATED_OVERLAP);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        double[] expected = new double[LAYOUT.size() * windProfiles.size()];
+        double[] actual = new double[expected.length];
+        exact.calculateEffectiveSpeeds(LAYOUT, windProfiles, expected);
+
+        // When
+        interpolated.calculateEffectiveSpeeds(LAYOUT, windProfiles, actual);
+
+        // Then
+        assertNull(exact.getOverlapTable());
+        assertTrue(interpolated.getOverlapTable().measureError().getMeanError() < 1e-3);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], expected[i] * 1e-3);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, mode = EnumSource.Mode.EXCLUDE, names = "CUTOFF_SWEEP")
+    void constructor_WhenToleranceInvalidAndModeExact_IgnoresIt(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        String previous = System.setProperty(JensenWakeModel.CUTOFF_TOLERANCE_PROPERTY, "not a number");
+
+        try {
+            // When / Then
+            assertDoesNotThrow(() -> new JensenWakeModel(problem, optimization));
+            assertDoesNotThrow(() -> new JensenWakeModel(problem, optimization, null, 0));
+        } finally {
+            restoreProperty(previous);
+        }
+    }
+
+    @Test
+    void constructor_WhenToleranceInvalidAndModeCutoff_Throws() {
+        // Given
+        WFLOP problem = createWflop();
+        String previous = System.setProperty(JensenWakeModel.CUTOFF_TOLERANCE_PROPERTY, "not a number");
+
+        try {
+            // When / Then
+            assertThrows(IllegalArgumentException.class,
+                () -> new JensenWakeModel(problem, WakeOptimization.CUTOFF_SWEEP));
+            assertThrows(IllegalArgumentException.class,
+                () -> new JensenWakeModel(problem, WakeOptimization.CUTOFF_SWEEP, null, 0));
+        } finally {
+            restoreProperty(previous);
+        }
+    }
+
+    private static void restoreProperty(String previous) {
+        if (previous == null) {
+            System.clearProperty(JensenWakeModel.CUTOFF_TOLERANCE_PROPERTY);
+        } else {
+            System.setProperty(JensenWakeModel.CUTOFF_TOLERANCE_PROPERTY, previous);
+        }
+    }
+
+    private static WFLOP createWflop() {
+        return createWflop(List.of(
+            new WindProfile(8.0, 270, 0.3),
+            new WindProfile(12.0, 270, 0.2),
+            new WindProfile(10.0, 45, 0.2),
+            new WindProfile(9.0, 180, 0.2),
+            new WindProfile(13.0, 300, 0.1)
+        ));
+    }
+
+    private static WFLOP createWflop(List<WindProfile> windProfiles) {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            DIMENSION,
+            LAYOUT.size(),
+            windProfiles
+        );
+    }
+}
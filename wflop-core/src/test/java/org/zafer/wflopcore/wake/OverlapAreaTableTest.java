@@ -0,0 +1,74 @@
+package org.zafer.wflopcore.wake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class OverlapAreaTableTest {
+
+    private static final double ROTOR_RADIUS = 40.0;
+    private static final double ENTRAINMENT = 0.1;
+    private static final double MAX_DOWNWIND = 1200.0;
+
+    @ParameterizedTest(name = "crosswind {0}, downwind {1}")
+    @CsvSource({"0, 50", "35, 120", "61.3, 407.9", "90, 333", "140, 1000", "-75, 650"})
+    void area_WhenInRange_StaysWithinMeasuredError(double crosswind, double downwind) {
+        // Given
+        OverlapAreaTable table = new OverlapAreaTable(ROTOR_RADIUS, ENTRAINMENT, MAX_DOWNWIND, 256);
+        double rotorArea = Math.PI * ROTOR_RADIUS * ROTOR_RADIUS;
+
+        // When
+        double area = table.area(crosswind, downwind);
+
+        // Then
+        double exact = OverlapAreaTable.exactArea(ROTOR_RADIUS, ENTRAINMENT, crosswind, downwind);
+        assertEquals(exact, area, table.measureError().getMaxError() * rotorArea + 1e-9);
+    }
+
+    @Test
+    void measureError_WhenTableGrows_ShrinksError() {
+        // Given
+        OverlapAreaTable coarse = new OverlapAreaTable(ROTOR_RADIUS, ENTRAINMENT, MAX_DOWNWIND, 64);
+        OverlapAreaTable fine = new OverlapAreaTable(ROTOR_RADIUS, ENTRAINMENT, MAX_DOWNWIND, 256);
+
+        // When
+        OverlapAreaTable.ErrorReport coarseError = coarse.measureError();
+        OverlapAreaTable.ErrorReport fineError = fine.measureError();
+
+        // Then
+        assertTrue(fineError.getMaxError() <= coarseError.getMaxError());
+        assertTrue(fineError.getMeanError() * 4 < coarseError.getMeanError());
+    }
+
+    @Test
+    void area_WhenBeyondWakeReach_IsZero() {
+        // Given
+        OverlapAreaTable table = new OverlapAreaTable(ROTOR_RADIUS, ENTRAINMENT, MAX_DOWNWIND, 64);
+
+        // When
+        double area = table.area(2 * ROTOR_RADIUS + ENTRAINMENT * MAX_DOWNWIND, 100);
+
+        // Then
+        assertEquals(0, area);
+    }
+
+    @Test
+    void area_WhenBeyondDownwindRange_FallsBackToExactArea() {
+        // Given
+        OverlapAreaTable table = new OverlapAreaTable(ROTOR_RADIUS, ENTRAINMENT, MAX_DOWNWIND, 64);
+
+        // When
+        double area = table.area(130, 1500);
+
+        // Then
+        assertEquals(OverlapAreaTable.exactArea(ROTOR_RADIUS, ENTRAINMENT, 130, 1500), area);
+    }
+
+    @Test
+    void constructor_WhenSingleSample_Throws() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new OverlapAreaTable(ROTOR_RADIUS, ENTRAINMENT, MAX_DOWNWIND, 1));
+    }
+}
@@ -0,0 +1,100 @@
+package org.zafer.wflopcore.wake;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class VectorWakeModelTest {
+
+    // 23 turbines, so the kernel runs both full vector lanes and a scalar tail
+    private static final List<Integer> LAYOUT = List.of(
+        0, 3, 7, 8, 14, 20, 21, 27, 33, 35, 41, 44, 46, 52, 55, 58, 61, 66, 70, 77, 83, 90, 99
+    );
+
+    @Test
+    void create_WhenVectorKernelRequested_MatchesScalarDeficitTable() {
+        assumeTrue(DefaultWakeModelProvider.isVectorApiAvailable());
+
+        // Given
+        WFLOP problem = createWflop();
+        WakeModel scalar = new JensenWakeModel(problem, WakeOptimization.DEFICIT_TABLE);
+        WakeModel vector = new DefaultWakeModelProvider().create(problem, WakeOptimization.VECTOR_DEFICIT_TABLE);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        double[] expected = new double[LAYOUT.size() * windProfiles.size()];
+        double[] actual = new double[expected.length];
+
+        // When
+        scalar.calculateEffectiveSpeeds(LAYOUT, windProfiles, expected);
+        vector.calculateEffectiveSpeeds(LAYOUT, windProfiles, actual);
+
+        // Then
+        assertInstanceOf(VectorWakeModel.class, vector);
+        assertArrayEquals(expected, actual, 1e-12);
+        for (WindProfile windProfile : windProfiles) {
+            assertEquals(
+                scalar.calculateEffectiveSpeed(LAYOUT.get(5), LAYOUT, windProfile),
+                vector.calculateEffectiveSpeed(LAYOUT.get(5), LAYOUT, windProfile),
+                1e-12);
+        }
+    }
+
+    @Test
+    void calculateBatchEffectiveSpeeds_WhenVectorKernelRequested_MatchesScalarDeficitTable() {
+        assumeTrue(DefaultWakeModelProvider.isVectorApiAvailable());
+
+        // Given
+        WFLOP problem = createWflop();
+        WakeModel scalar = new JensenWakeModel(problem, WakeOptimization.DEFICIT_TABLE);
+        WakeModel vector = new DefaultWakeModelProvider().create(problem, WakeOptimization.VECTOR_DEFICIT_TABLE);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        List<TurbineLayout> layouts = List.of(
+            new TurbineLayout(LAYOUT),
+            new TurbineLayout(LAYOUT.subList(0, 9)),
+            new TurbineLayout(LAYOUT.subList(4, 21))
+        );
+        double[][] expected = new double[layouts.size()][];
+        double[][] actual = new double[layouts.size()][];
+        for (int i = 0; i < layouts.size(); i++) {
+            expected[i] = new double[layouts.get(i).size() * windProfiles.size()];
+            actual[i] = new double[expected[i].length];
+        }
+        double[] single = new double[expected[0].length];
+
+        // When
+        scalar.calculateBatchEffectiveSpeeds(layouts, windProfiles, expected);
+        vector.calculateBatchEffectiveSpeeds(layouts, windProfiles, actual);
+        vector.calculateEffectiveSpeeds(layouts.get(0), windProfiles, single);
+
+        // Then
+        for (int i = 0; i < layouts.size(); i++) {
+            assertArrayEquals(expected[i], actual[i], 1e-12);
+        }
+        assertArrayEquals(expected[0], single, 1e-12);
+    }
+
+    private static WFLOP createWflop() {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            10,
+            LAYOUT.size(),
+            List.of(
+                new WindProfile(8.0, 270, 0.4),
+                new WindProfile(12.0, 45, 0.3),
+                new WindProfile(10.0, 180, 0.3)
+            )
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package org.zafer.wflopcore.wake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.zafer.wflopmodel.layout.TurbineLayout;
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class WakeKernelTest {
+
+    private static final List<Integer> LAYOUT = List.of(35, 0, 7, 3, 14, 8, 21, 20, 27, 33);
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, mode = EnumSource.Mode.EXCLUDE, names = "VECTOR_DEFICIT_TABLE")
+    void create_ForEveryOptimization_IsBitIdenticalToModel(WakeOptimization optimization) {
+        // Given
+        WFLOP problem = createWflop();
+        JensenWakeModel model = new JensenWakeModel(problem, optimization);
+        WakeModel kernel = new DefaultWakeModelProvider(null).create(problem, optimization);
+        List<WindProfile> windProfiles = problem.getWindProfiles();
+        TurbineLayout layout = new TurbineLayout(LAYOUT);
+        double[] expected = new double[LAYOUT.size() * windProfiles.size()];
+        double[] actual = new double[expected.length];
+        double[] expectedLayout = new double[expected.length];
+        double[] actualLayout = new double[expected.length];
+
+        // When
+        model.calculateEffectiveSpeeds(LAYOUT, windProfiles, expected);
+        kernel.calculateEffectiveSpeeds(LAYOUT, windProfiles, actual);
+        model.calculateEffectiveSpeeds(layout, windProfiles, expectedLayout);
+        kernel.calculateEffectiveSpeeds(layout, windProfiles, actualLayout);
+
+        // Then
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expectedLayout, actualLayout);
+        for (WindProfile windProfile : windProfiles) {
+            for (int turbine = 0; turbine < problem.getCellCount(); turbine++) {
+                assertEquals(
+                    model.calculateEffectiveSpeed(turbine, LAYOUT, windProfile),
+                    kernel.calculateEffectiveSpeed(turbine, LAYOUT, windProfile));
+            }
+        }
+        assertEquals(model.getSpeedErrorBound(LAYOUT.size()), kernel.getSpeedErrorBound(LAYOUT.size()));
+        assertInstanceOf(WakeKernel.class, kernel);
+    }
+
+    private static WFLOP createWflop() {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            6,
+            LAYOUT.size(),
+            List.of(
+                new WindProfile(8.0, 270, 0.3),
+                new WindProfile(12.0, 270, 0.2),
+                new WindProfile(10.0, 45, 0.2),
+                new WindProfile(9.0, 180, 0.2),
+                new WindProfile(13.0, 300, 0.1)
+            )
+        );
+    }
+}
@@ -0,0 +1,166 @@
+package org.zafer.wflopcore.wake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class WakeMatrixCacheTest {
+
+    private static final List<Integer> LAYOUT = List.of(0, 3, 7, 8, 14, 20, 21, 27, 33, 35);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readMatrix_WhenWritten_MapsStoredValues() {
+        // Given
+        WakeMatrixCache cache = new WakeMatrixCache(directory);
+        double[] values = {1.5, -2.25, 0.0, Double.MAX_VALUE};
+
+        // When
+        boolean written = cache.write(createWflop(270), "test", values);
+        WakeMatrix matrix = cache.readMatrix(createWflop(270), "test");
+
+        // Then
+        assertTrue(written);
+        assertArrayEquals(values, values(matrix));
+    }
+
+    @Test
+    void readIndex_WhenWritten_MapsStoredValues() {
+        // Given
+        WakeMatrixCache cache = new WakeMatrixCache(directory);
+        int[] values = {0, 7, -3, Integer.MAX_VALUE};
+
+        // When
+        cache.write(createWflop(270), "test", values);
+        WakeIndex index = cache.readIndex(createWflop(270), "test");
+
+        // Then
+        assertEquals(values.length, index.length());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], index.get(i));
+        }
+    }
+
+    @Test
+    void read_WhenFileMissingOrOfOtherType_ReturnsNull() {
+        // Given
+        WakeMatrixCache cache = new WakeMatrixCache(directory);
+        cache.write(createWflop(270), "ints", new int[] {1, 2});
+
+        // When / Then
+        assertNull(cache.readMatrix(createWflop(270), "missing"));
+        assertNull(cache.readMatrix(createWflop(270), "ints"));
+    }
+
+    @Test
+    void write_WhenDirectoryIsNotWritable_ReturnsFalse() throws Exception {
+        // Given
+        Path blocked = directory.resolve("blocked");
+        Files.writeString(blocked, "not a directory");
+        WakeMatrixCache cache = new WakeMatrixCache(blocked);
+
+        // When / Then
+        assertFalse(cache.write(createWflop(270), "test", new double[] {7, 8}));
+        assertNull(cache.readMatrix(createWflop(270), "test"));
+    }
+
+    @Test
+    void readMatrix_WhenFileCorrupt_ReturnsNull() throws Exception {
+        // Given
+        WakeMatrixCache cache = new WakeMatrixCache(directory);
+        WFLOP problem = createWflop(270);
+        cache.write(problem, "test", new double[] {1, 2, 3});
+        try (var files = Files.list(directory)) {
+            Path file = files.findFirst().orElseThrow();
+            Files.write(file, new byte[] {1, 2, 3});
+        }
+
+        // When / Then
+        assertNull(cache.readMatrix(problem, "test"));
+    }
+
+    @Test
+    void fingerprint_WhenWindProfilesDiffer_Differs() {
+        assertEquals(WakeMatrixCache.fingerprint(createWflop(270)), WakeMatrixCache.fingerprint(createWflop(270)));
+        assertNotEquals(WakeMatrixCache.fingerprint(createWflop(270)), WakeMatrixCache.fingerprint(createWflop(271)));
+    }
+
+    @Test
+    void fingerprint_WhenOnlySpeedsProbabilitiesOrTurbineCountDiffer_IsEqual() {
+        // Given
+        WFLOP problem = createWflop(270);
+        WFLOP other = new WFLOP(40.0, 100.0, 0.9, 0.8, 1.225, 0.1, 200.0, 6, 3,
+            List.of(new WindProfile(10.0, 270, 0.2), new WindProfile(15.0, 270, 0.8)));
+
+        // When / Then
+        assertEquals(WakeMatrixCache.fingerprint(problem), WakeMatrixCache.fingerprint(other));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, names = {"DISTANCE_MATRIX", "INTERSECTION_MATRIX", "BOTH", "SPARSE_INFLUENCE"})
+    void jensenWakeModel_WhenTablesCached_MatchesComputedModel(WakeOptimization optimization) {
+        // Given
+        WakeMatrixCache cache = new WakeMatrixCache(directory);
+        WFLOP problem = createWflop(300);
+        JensenWakeModel computed = new JensenWakeModel(problem, optimization);
+        JensenWakeModel published = new JensenWakeModel(problem, optimization, cache);
+
+        // When
+        JensenWakeModel cached = new JensenWakeModel(problem, optimization, cache);
+
+        // Then
+        assertTrue(published.getKernel().getClass().getSimpleName().startsWith("Mapped"));
+        assertTrue(cached.getKernel().getClass().getSimpleName().startsWith("Mapped"));
+        assertFalse(computed.getKernel().getClass().getSimpleName().startsWith("Mapped"));
+        for (WindProfile windProfile : problem.getWindProfiles()) {
+            for (int turbine : LAYOUT) {
+                assertEquals(
+                    computed.calculateEffectiveSpeed(turbine, LAYOUT, windProfile),
+                    cached.calculateEffectiveSpeed(turbine, LAYOUT, windProfile));
+                for (int upwind : LAYOUT) {
+                    assertEquals(
+                        computed.calculateDeficit(turbine, upwind, windProfile),
+                        cached.calculateDeficit(turbine, upwind, windProfile));
+                }
+            }
+        }
+    }
+
+    private static double[] values(WakeMatrix matrix) {
+        double[] values = new double[matrix.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = matrix.get(i);
+        }
+        return values;
+    }
+
+    private static WFLOP createWflop(int secondAngle) {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            6,
+            LAYOUT.size(),
+            List.of(
+                new WindProfile(8.0, 270, 0.5),
+                new WindProfile(12.0, secondAngle, 0.5)
+            )
+        );
+    }
+}
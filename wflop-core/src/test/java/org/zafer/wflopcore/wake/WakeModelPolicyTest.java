@@ -0,0 +1,130 @@
+package org.zafer.wflopcore.wake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.zafer.wflopmodel.problem.WFLOP;
+import org.zafer.wflopmodel.wind.WindProfile;
+
+class WakeModelPolicyTest {
+
+    @Test
+    void select_WhenBudgetIsLarge_PicksSparseInfluence() {
+        // Given
+        WakeModelPolicy policy = new WakeModelPolicy(1L << 30);
+
+        // When
+        WakeOptimization optimization = policy.select(createWflop(10));
+
+        // Then
+        assertEquals(WakeOptimization.SPARSE_INFLUENCE, optimization);
+    }
+
+    @Test
+    void select_WhenSparseRowsExceedBudget_PicksDeficitTable() {
+        // Given: room for the offset-sized deficit table but not for the pair-sized sparse rows
+        WFLOP wflop = createWflop(30);
+        long deficitTable = WakeModelPolicy.estimateFootprint(WakeOptimization.DEFICIT_TABLE, 900, 30, 2);
+        long sparseRows = WakeModelPolicy.estimateFootprint(WakeOptimization.SPARSE_INFLUENCE, 900, 30, 2);
+        WakeModelPolicy policy = new WakeModelPolicy(sparseRows / 2);
+
+        // When
+        WakeOptimization optimization = policy.select(wflop);
+
+        // Then
+        assertTrue(deficitTable <= sparseRows / 2, deficitTable + " vs " + sparseRows);
+        assertEquals(WakeOptimization.DEFICIT_TABLE, optimization);
+        assertEquals(WakeOptimization.SPARSE_INFLUENCE, new WakeModelPolicy(sparseRows).select(wflop));
+    }
+
+    @Test
+    void select_WhenNoTableFits_FallsBackToNone() {
+        // Given
+        WFLOP wflop = createWflop(10);
+        long coordinatesOnly = WakeModelPolicy.estimateFootprint(WakeOptimization.NONE, 100, 10, 2);
+        WakeModelPolicy policy = new WakeModelPolicy(coordinatesOnly);
+
+        // When / Then
+        assertEquals(WakeOptimization.NONE, policy.select(wflop));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, names = {"SPARSE_INFLUENCE", "DEFICIT_TABLE", "UPWIND_SWEEP", "NONE"})
+    void select_WhenBudgetIsExactlyTierFootprint_PicksThatTier(WakeOptimization tier) {
+        // Given
+        WFLOP wflop = createWflop(10);
+        long footprint = WakeModelPolicy.estimateFootprint(tier, 100, 10, 2);
+        WakeModelPolicy policy = new WakeModelPolicy(footprint);
+
+        // When / Then
+        assertEquals(tier, policy.select(wflop));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = WakeOptimization.class, names = {"SPARSE_INFLUENCE", "DEFICIT_TABLE", "UPWIND_SWEEP"})
+    void select_WhenBudgetIsJustBelowTierFootprint_PicksSmallerTier(WakeOptimization tier) {
+        // Given
+        WFLOP wflop = createWflop(10);
+        long footprint = WakeModelPolicy.estimateFootprint(tier, 100, 10, 2);
+        WakeModelPolicy policy = new WakeModelPolicy(footprint - 1);
+
+        // When
+        WakeOptimization optimization = policy.select(wflop);
+
+        // Then
+        assertNotEquals(tier, optimization);
+        assertTrue(WakeModelPolicy.estimateFootprint(optimization, 100, 10, 2) < footprint, optimization.name());
+    }
+
+    @Test
+    void fromSystemProperty_WhenUnset_UsesHalfOfMaxHeap() {
+        // Given
+        String previous = System.clearProperty(WakeModelPolicy.MEMORY_BUDGET_PROPERTY);
+        try {
+            // When
+            long budget = WakeModelPolicy.fromSystemProperty().getMemoryBudget();
+
+            // Then
+            assertEquals(Runtime.getRuntime().maxMemory() / 2, budget);
+        } finally {
+            if (previous != null) {
+                System.setProperty(WakeModelPolicy.MEMORY_BUDGET_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void estimateFootprint_WhenMatrixExceedsArrayLimit_ReportsNotFitting() {
+        // When
+        long both = WakeModelPolicy.estimateFootprint(WakeOptimization.BOTH, 50_000, 224, 36);
+        long deficits = WakeModelPolicy.estimateFootprint(WakeOptimization.DEFICIT_TABLE, 50_000, 224, 36);
+
+        // Then
+        assertEquals(-1, both);
+        assertTrue(deficits > 0);
+    }
+
+    private static WFLOP createWflop(int dimension) {
+        return new WFLOP(
+            40.0,
+            100.0,
+            0.9,
+            0.8,
+            1.225,
+            0.1,
+            200.0,
+            dimension,
+            5,
+            List.of(
+                new WindProfile(8.0, 270, 0.4),
+                new WindProfile(12.0, 270, 0.3),
+                new WindProfile(10.0, 90, 0.3)
+            )
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package org.zafer.wflopcore.wake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class WakeRowCacheTest {
+
+    @Test
+    void get_WhenRowCached_CountsHitWithoutReloading() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        WakeRowCache cache = new WakeRowCache(4, key -> {
+            loads.incrementAndGet();
+            return new double[] {key};
+        });
+
+        // When
+        double[] first = cache.get(7);
+        double[] second = cache.get(7);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void get_WhenOverCapacity_EvictsLeastRecentlyUsed() {
+        // Given
+        WakeRowCache cache = new WakeRowCache(2, key -> new double[] {key});
+        cache.get(0);
+        cache.get(1);
+        cache.get(0);
+
+        // When
+        cache.get(2);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        long missesBefore = cache.getMisses();
+        cache.get(0);
+        assertEquals(missesBefore, cache.getMisses());
+        cache.get(1);
+        assertEquals(missesBefore + 1, cache.getMisses());
+    }
+
+    @Test
+    void get_WhenCapacitySpreadOverSegments_NeverExceedsCapacity() {
+        // Given
+        WakeRowCache cache = new WakeRowCache(1000, key -> new double[0]);
+
+        // When
+        for (int key = 0; key < 5000; key++) {
+            cache.get(key);
+        }
+
+        // Then
+        assertEquals(1000, cache.size());
+        assertEquals(4000, cache.getEvictions());
+    }
+}
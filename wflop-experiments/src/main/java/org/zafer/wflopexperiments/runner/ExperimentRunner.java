@@ -9,15 +9,19 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.zafer.wflopalgorithms.common.AbstractMetaheuristic;
 import org.zafer.wflopalgorithms.factory.AlgorithmFactory;
 import org.zafer.wflopalgorithms.factory.AlgorithmLoadException;
 import org.zafer.wflopconfig.ConfigLoader;
+import org.zafer.wflopcore.power.PowerCalculatorRegistry;
+import org.zafer.wflopcore.wake.DefaultWakeModelProvider;
 import org.zafer.wflopexperiments.config.*;
 import org.zafer.wflopexperiments.model.*;
 import org.zafer.wflopexperiments.processor.IncrementalAlgorithmProcessor;
@@ -36,11 +40,16 @@ public class ExperimentRunner {
     private final ExperimentConfig config;
     private final AlgorithmFactory algorithmFactory;
     private final int threadCount;
+    // Each parallel worker evaluates generations on its own share of the
+    // processors instead of every worker contending for the common pool
+    private final int evaluationParallelism;
+    private final PowerCalculatorRegistry powerCalculators = new PowerCalculatorRegistry(new DefaultWakeModelProvider());
 
     public ExperimentRunner(ExperimentConfig config, AlgorithmFactory algorithmFactory, int threadCount) {
         this.config = config;
         this.algorithmFactory = algorithmFactory;
         this.threadCount = Math.max(1, threadCount);
+        this.evaluationParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / this.threadCount);
     }
 
     public void run() {
@@ -92,8 +101,18 @@ public class ExperimentRunner {
         ProblemResult problemResult,
         ExperimentProgress progress
     ) {
-        for (AlgorithmConfig algorithmConfig : config.getAlgorithms()) {
-            AlgorithmResult algorithmResult = executeSequentialAlgorithm(problemConfig, algorithmConfig, progress);
+        WFLOP wflop = ConfigLoader.load(problemConfig.getPath(), new TypeReference<WFLOP>() {});
+        List<PowerCalculatorRegistry.Lease> leases = acquireLeases(wflop);
+
+        for (int algorithmIndex = 0; algorithmIndex < config.getAlgorithms().size(); algorithmIndex++) {
+            AlgorithmConfig algorithmConfig = config.getAlgorithms().get(algorithmIndex);
+            AlgorithmResult algorithmResult;
+            try (PowerCalculatorRegistry.Lease lease = leases.get(algorithmIndex)) {
+                algorithmResult = executeSequentialAlgorithm(wflop, lease, algorithmConfig, progress);
+            } catch (RuntimeException e) {
+                leases.forEach(PowerCalculatorRegistry.Lease::close);
+                throw e;
+            }
 
             problemResult.addAlgorithmResult(algorithmResult);
             processIncrementally(problemResult, algorithmResult, progress);
@@ -111,34 +130,20 @@ public class ExperimentRunner {
     }
 
     private AlgorithmResult executeSequentialAlgorithm(
-        ProblemConfig problemConfig,
+        WFLOP wflop,
+        PowerCalculatorRegistry.Lease lease,
         AlgorithmConfig algorithmConfig,
         ExperimentProgress progress
     ) {
         AlgorithmResult algorithmResult = new AlgorithmResult(algorithmConfig.getId());
 
         for (int w = 1; w <= config.getWarmupRuns(); w++) {
-            WFLOP wflop = ConfigLoader.load(problemConfig.getPath(), new TypeReference<WFLOP>() {});
-
-            Metaheuristic warmupAlgorithm;
-            try {
-                warmupAlgorithm = algorithmFactory.load(algorithmConfig.getPath());
-            } catch (AlgorithmLoadException e) {
-                throw new RuntimeException(e);
-            }
-
+            Metaheuristic warmupAlgorithm = loadAlgorithm(algorithmConfig, lease, null);
             warmupAlgorithm.run(wflop);
         }
 
         for (int run = 1; run <= config.getRuns(); run++) {
-            WFLOP wflop = ConfigLoader.load(problemConfig.getPath(), new TypeReference<WFLOP>() {});
-
-            Metaheuristic algorithm;
-            try {
-                algorithm = algorithmFactory.load(algorithmConfig.getPath());
-            } catch (AlgorithmLoadException e) {
-                throw new RuntimeException(e);
-            }
+            Metaheuristic algorithm = loadAlgorithm(algorithmConfig, lease, null);
 
             List<ListenerData> collectedData = new ArrayList<>();
             List<ProgressListener> listeners = new ArrayList<>();
@@ -220,8 +225,26 @@ public class ExperimentRunner {
         CompletionService<AlgorithmResult> completionService = new ExecutorCompletionService<>(executor);
         Map<String, AlgorithmResult> completedAlgorithms = new LinkedHashMap<>();
 
-        for (AlgorithmConfig algorithmConfig : config.getAlgorithms()) {
-            completionService.submit(() -> executeAlgorithmPair(problemConfig, algorithmConfig));
+        // Every pair holds its lease from before the first submission, so the shared
+        // calculators outlive pairs that finish early and are dropped with the last one
+        WFLOP wflop = ConfigLoader.load(problemConfig.getPath(), new TypeReference<WFLOP>() {});
+        List<PowerCalculatorRegistry.Lease> leases = acquireLeases(wflop);
+
+        int submitted = 0;
+        try {
+            for (; submitted < config.getAlgorithms().size(); submitted++) {
+                AlgorithmConfig algorithmConfig = config.getAlgorithms().get(submitted);
+                PowerCalculatorRegistry.Lease lease = leases.get(submitted);
+                completionService.submit(() -> {
+                    try (lease; ForkJoinPool evaluationPool = new ForkJoinPool(evaluationParallelism)) {
+                        return executeAlgorithmPair(wflop, lease, evaluationPool, algorithmConfig);
+                    }
+                });
+            }
+        } catch (RuntimeException | Error e) {
+            // Submitted tasks close their own leases; the rest were never handed off
+            leases.subList(submitted, leases.size()).forEach(PowerCalculatorRegistry.Lease::close);
+            throw e;
         }
 
         collectParallelAlgorithmResults(problemConfig, completionService, completedAlgorithms, completedPairs, totalPairs);
@@ -293,33 +316,23 @@ public class ExperimentRunner {
         }
     }
 
-    private AlgorithmResult executeAlgorithmPair(ProblemConfig problemConfig, AlgorithmConfig algorithmConfig) {
+    private AlgorithmResult executeAlgorithmPair(
+        WFLOP wflop,
+        PowerCalculatorRegistry.Lease lease,
+        ForkJoinPool evaluationPool,
+        AlgorithmConfig algorithmConfig
+    ) {
         // Warm-up runs are intentionally isolated per task so the parallel path
         // matches the sequential execution semantics.
         for (int w = 1; w <= config.getWarmupRuns(); w++) {
-            WFLOP wflop = ConfigLoader.load(problemConfig.getPath(), new TypeReference<WFLOP>() {});
-
-            Metaheuristic warmupAlgorithm;
-            try {
-                warmupAlgorithm = algorithmFactory.load(algorithmConfig.getPath());
-            } catch (AlgorithmLoadException e) {
-                throw new RuntimeException(e);
-            }
-
+            Metaheuristic warmupAlgorithm = loadAlgorithm(algorithmConfig, lease, evaluationPool);
             warmupAlgorithm.run(wflop);
         }
 
         AlgorithmResult algorithmResult = new AlgorithmResult(algorithmConfig.getId());
 
         for (int run = 1; run <= config.getRuns(); run++) {
-            WFLOP wflop = ConfigLoader.load(problemConfig.getPath(), new TypeReference<WFLOP>() {});
-
-            Metaheuristic algorithm;
-            try {
-                algorithm = algorithmFactory.load(algorithmConfig.getPath());
-            } catch (AlgorithmLoadException e) {
-                throw new RuntimeException(e);
-            }
+            Metaheuristic algorithm = loadAlgorithm(algorithmConfig, lease, evaluationPool);
 
             List<ListenerData> collectedData = new ArrayList<>();
             List<ProgressListener> listeners = new ArrayList<>();
@@ -337,6 +350,39 @@ public class ExperimentRunner {
         return algorithmResult;
     }
 
+    private List<PowerCalculatorRegistry.Lease> acquireLeases(WFLOP wflop) {
+        List<PowerCalculatorRegistry.Lease> leases = new ArrayList<>();
+        for (int i = 0; i < config.getAlgorithms().size(); i++) {
+            leases.add(powerCalculators.acquire(wflop));
+        }
+        return leases;
+    }
+
+    /**
+     * @param evaluationPool the pool generations are evaluated on, or
+     *                       {@code null} for the common pool
+     */
+    private Metaheuristic loadAlgorithm(
+        AlgorithmConfig algorithmConfig,
+        PowerCalculatorRegistry.Lease lease,
+        ForkJoinPool evaluationPool
+    ) {
+        Metaheuristic algorithm;
+        try {
+            algorithm = algorithmFactory.load(algorithmConfig.getPath());
+        } catch (AlgorithmLoadException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (algorithm instanceof AbstractMetaheuristic metaheuristic) {
+            metaheuristic.setPowerCalculatorSource(lease::get);
+            if (evaluationPool != null) {
+                metaheuristic.setEvaluationPool(evaluationPool);
+            }
+        }
+        return algorithm;
+    }
+
     private String formatPercent(double fraction) {
         return String.format("%.1f", fraction * 100);
     }
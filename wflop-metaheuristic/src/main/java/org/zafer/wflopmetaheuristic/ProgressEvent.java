@@ -7,6 +7,7 @@ public class ProgressEvent {
     private final double bestFitness;
     private final double totalPowerWithoutWake;
     private final double matrixInitTime;
+    private final String wakeOptimization;
 
     private final TerminationProgress terminationProgress;
 
@@ -14,11 +15,13 @@ public class ProgressEvent {
         double bestFitness,
         double totalPowerWithoutWake,
         double matrixInitTime,
+        String wakeOptimization,
         TerminationProgress terminationProgress
     ) {
         this.bestFitness = bestFitness;
         this.totalPowerWithoutWake = totalPowerWithoutWake;
         this.matrixInitTime = matrixInitTime;
+        this.wakeOptimization = wakeOptimization;
         this.terminationProgress = terminationProgress;
     }
 
@@ -34,7 +37,18 @@ public class ProgressEvent {
         return totalPowerWithoutWake;
     }
 
+    /**
+     * Milliseconds spent building the wake tables the run evaluated with.
+     * Runs sharing one power calculator all report that single build.
+     */
     public double getMatrixInitTime() {
         return matrixInitTime;
     }
+
+    /**
+     * Name of the wake representation the run evaluated layouts with.
+     */
+    public String getWakeOptimization() {
+        return wakeOptimization;
+    }
 }
\ No newline at end of file
@@ -2,8 +2,18 @@ package org.zafer.wflopmetaheuristic;
 
 import java.util.List;
 
+import org.zafer.wflopmodel.layout.TurbineLayout;
+
 public interface Solution {
 
     double getFitness();
     List<Integer> getList();
+
+    /**
+     * The solution's cells as a primitive layout, which solutions holding
+     * their cells as arrays should return without boxing them.
+     */
+    default TurbineLayout getLayout() {
+        return new TurbineLayout(getList());
+    }
 }
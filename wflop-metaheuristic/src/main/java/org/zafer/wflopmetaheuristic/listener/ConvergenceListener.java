@@ -14,7 +14,8 @@ public class ConvergenceListener implements ProgressListener {
         double bestFitnessAchievedAtIteration,
         double bestFitnessAchievedAtTime,
         double totalPowerWithoutWake,
-        double matrixInitTime
+        double matrixInitTime,
+        String wakeOptimization
     ) {}
 
     private final List<DataPoint> data = new ArrayList<>();
@@ -48,7 +49,8 @@ public class ConvergenceListener implements ProgressListener {
                 bestFitnessAchievedAtIteration,
                 bestFitnessAchievedAtTime,
                 event.getTotalPowerWithoutWake(),
-                event.getMatrixInitTime()
+                event.getMatrixInitTime(),
+                event.getWakeOptimization()
             )
         );
     }
@@ -1,22 +1,100 @@
 package org.zafer.wflopmodel.layout;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Immutable set of occupied cells, kept as a sorted {@code int[]} plus an
+ * occupancy bitmap so evaluations can iterate and test membership without
+ * boxing.
+ */
 public class TurbineLayout {
 
-    private final List<Integer> turbineIndices;
+    private final int[] cells;
+    private final long[] occupancy;
+
+    public TurbineLayout(int[] cells) {
+        this.cells = cells.clone();
+        Arrays.sort(this.cells);
+        if (this.cells.length > 0 && this.cells[0] < 0) {
+            throw new IllegalArgumentException("Cell index cannot be negative: " + this.cells[0]);
+        }
+
+        int maxCell = this.cells.length == 0 ? -1 : this.cells[this.cells.length - 1];
+        this.occupancy = new long[(maxCell + 64) >>> 6];
+        for (int i = 0; i < this.cells.length; i++) {
+            int cell = this.cells[i];
+            if (i > 0 && this.cells[i - 1] == cell) {
+                throw new IllegalArgumentException("Duplicate turbine in layout: " + cell);
+            }
+            this.occupancy[cell >>> 6] |= 1L << cell;
+        }
+    }
 
     @JsonCreator
     public TurbineLayout(
             @JsonProperty("turbineIndices") List<Integer> turbineIndices) {
 
-        this.turbineIndices = turbineIndices;
+        this(turbineIndices.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public int getCell(int index) {
+        return cells[index];
+    }
+
+    public boolean contains(int cell) {
+        int word = cell >>> 6;
+        return cell >= 0 && word < occupancy.length && (occupancy[word] & (1L << cell)) != 0;
+    }
+
+    /**
+     * The sorted cells. The array is shared rather than copied so that
+     * evaluations stay allocation-free, and must not be modified.
+     */
+    @JsonIgnore
+    public int[] getCells() {
+        return cells;
+    }
+
+    /**
+     * Occupancy bitmap with bit {@code cell & 63} of word {@code cell >>> 6}
+     * set per turbine. It only spans up to the highest occupied cell, is
+     * shared like {@link #getCells()}, and must not be modified.
+     */
+    @JsonIgnore
+    public long[] getOccupancy() {
+        return occupancy;
+    }
+
+    public int[] toArray() {
+        return cells.clone();
     }
 
+    /**
+     * Read-only boxed view of the sorted cells, kept for serialization and
+     * callers that still work on lists.
+     */
+    @JsonProperty("turbineIndices")
     public List<Integer> getTurbineIndices() {
-        return turbineIndices;
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                return cells[index];
+            }
+
+            @Override
+            public int size() {
+                return cells.length;
+            }
+        };
     }
 }
@@ -1,8 +1,10 @@
 package org.zafer.wflopmodel.problem;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.zafer.wflopmodel.wind.WindProfile;
+import org.zafer.wflopmodel.wind.WindRose;
 
 import java.util.List;
 
@@ -18,7 +20,7 @@ public class WFLOP {
     private final int dimension;
     private final int cellCount;
     private final int numberOfTurbines;
-    private final List<WindProfile> windProfiles;
+    private final WindRose windRose;
 
     private final double axialInductionFactor;
     private final double entrainmentConstant;
@@ -53,14 +55,7 @@ public class WFLOP {
 
         this.numberOfTurbines = numberOfTurbines;
 
-        int i = 0;
-        for (WindProfile windProfile : windProfiles) {
-            windProfile.setIndex(i);
-            i++;
-        }
-        WindProfile.setAngleCount(i + 1);
-
-        this.windProfiles = windProfiles;
+        this.windRose = new WindRose(windProfiles);
 
         this.axialInductionFactor = 1 - Math.sqrt(1 - thrustCoefficient);
         this.entrainmentConstant = 0.5 / Math.log(hubHeight / surfaceRoughness);
@@ -72,6 +67,8 @@ public class WFLOP {
     public int getDimension() { return dimension; }
     public int getCellCount() { return cellCount; }
     public int getNumberOfTurbines() { return numberOfTurbines; }
-    public List<WindProfile> getWindProfiles() { return windProfiles; }
+    public List<WindProfile> getWindProfiles() { return windRose.getProfiles(); }
+    @JsonIgnore
+    public WindRose getWindRose() { return windRose; }
     public double getEntrainmentConstant() { return entrainmentConstant; }
 }
@@ -8,9 +8,7 @@ public class WindProfile {
     private final double speed;
     private final int angle;
     private final double probability;
-
-    private static int angleCount;
-    private int index;
+    private final int index;
 
     @JsonCreator
     public WindProfile(
@@ -21,6 +19,15 @@ public class WindProfile {
         this.speed = speed;
         this.angle = angle;
         this.probability = probability;
+        this.index = -1;
+    }
+
+    // Indexed copy, only created by WindRose
+    WindProfile(WindProfile source, int index) {
+        this.speed = source.speed;
+        this.angle = source.angle;
+        this.probability = source.probability;
+        this.index = index;
     }
 
     public double getSpeed() {
@@ -35,19 +42,11 @@ public class WindProfile {
         return probability;
     }
 
+    /**
+     * Position of this profile in its problem's {@link WindRose}, or -1 for
+     * a profile that does not belong to one.
+     */
     public int getIndex() {
         return index;
     }
-
-    public void setIndex(int index) {
-        this.index = index;
-    }
-
-    public static int getAngleCount() {
-        return angleCount;
-    }
-
-    public static void setAngleCount(int angleCount) {
-        WindProfile.angleCount = angleCount;
-    }
 }
@@ -0,0 +1,103 @@
+package org.zafer.wflopmodel.wind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable wind distribution of one problem. It owns the profile indices
+ * (a profile's position in the rose), the distinct wind directions the
+ * profiles map to, and probabilities normalized to sum to one, so problems
+ * with different roses can be evaluated side by side in one JVM.
+ */
+public class WindRose {
+
+    private final List<WindProfile> profiles;
+    private final double[] probabilities;
+    private final int[] profileDirection;
+    private final int[] directionAngles;
+
+    /**
+     * Copies the profiles in order, assigning each its index in this rose.
+     * The given profiles are left untouched.
+     */
+    public WindRose(List<WindProfile> windProfiles) {
+        if (windProfiles == null || windProfiles.isEmpty()) {
+            throw new IllegalArgumentException("A wind rose needs at least one wind profile");
+        }
+
+        List<WindProfile> indexed = new ArrayList<>(windProfiles.size());
+        List<Integer> angles = new ArrayList<>();
+        this.profileDirection = new int[windProfiles.size()];
+        double total = 0;
+        for (WindProfile windProfile : windProfiles) {
+            if (windProfile.getProbability() < 0) {
+                throw new IllegalArgumentException("Wind profile probability cannot be negative: " +
+                        windProfile.getProbability());
+            }
+
+            int index = indexed.size();
+            indexed.add(new WindProfile(windProfile, index));
+            total += windProfile.getProbability();
+
+            int direction = angles.indexOf(windProfile.getAngle());
+            if (direction < 0) {
+                direction = angles.size();
+                angles.add(windProfile.getAngle());
+            }
+            profileDirection[index] = direction;
+        }
+
+        if (total <= 0) {
+            throw new IllegalArgumentException("Wind profile probabilities must not all be zero");
+        }
+
+        this.profiles = Collections.unmodifiableList(indexed);
+        this.directionAngles = angles.stream().mapToInt(Integer::intValue).toArray();
+        this.probabilities = new double[indexed.size()];
+        // Leave roses that already sum to one bit-for-bit unchanged
+        double scale = Math.abs(total - 1) < 1e-12 ? 1 : 1 / total;
+        for (int i = 0; i < probabilities.length; i++) {
+            probabilities[i] = indexed.get(i).getProbability() * scale;
+        }
+    }
+
+    /**
+     * The indexed profiles, in the order they were given.
+     */
+    public List<WindProfile> getProfiles() {
+        return profiles;
+    }
+
+    public int getProfileCount() {
+        return profiles.size();
+    }
+
+    /**
+     * Normalized probability of the profile with the given index.
+     */
+    public double getProbability(int profileIndex) {
+        return probabilities[profileIndex];
+    }
+
+    public int getDirectionCount() {
+        return directionAngles.length;
+    }
+
+    /**
+     * Index of the profile's wind angle among the distinct angles of the
+     * rose, in order of first appearance.
+     */
+    public int getDirection(int profileIndex) {
+        return profileDirection[profileIndex];
+    }
+
+    public int getDirectionAngle(int direction) {
+        return directionAngles[direction];
+    }
+
+    public int[] getDirectionAngles() {
+        return Arrays.copyOf(directionAngles, directionAngles.length);
+    }
+}
@@ -0,0 +1,90 @@
+package org.zafer.wflopmodel.layout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TurbineLayoutTest {
+
+    @Test
+    void constructor_SortsCellsWithoutChangingInput() {
+        // Given
+        int[] cells = {35, 0, 7, 3};
+
+        // When
+        TurbineLayout layout = new TurbineLayout(cells);
+
+        // Then
+        assertArrayEquals(new int[] {0, 3, 7, 35}, layout.getCells());
+        assertEquals(List.of(0, 3, 7, 35), layout.getTurbineIndices());
+        assertArrayEquals(new int[] {35, 0, 7, 3}, cells);
+    }
+
+    @Test
+    void constructor_WhenCellIsDuplicated_Throws() {
+        // When / Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new TurbineLayout(new int[] {4, 9, 4}));
+        assertTrue(exception.getMessage().contains("4"), exception.getMessage());
+    }
+
+    @Test
+    void constructor_WhenCellIsNegative_Throws() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new TurbineLayout(new int[] {3, -1, 8}));
+        assertThrows(IllegalArgumentException.class, () -> new TurbineLayout(List.of(-5)));
+    }
+
+    @Test
+    void getOccupancy_SetsOneBitPerCellUpToHighestCell() {
+        // Given
+        TurbineLayout layout = new TurbineLayout(new int[] {130, 3, 64});
+
+        // When
+        long[] occupancy = layout.getOccupancy();
+
+        // Then
+        assertEquals(3, occupancy.length);
+        assertEquals(1L << 3, occupancy[0]);
+        assertEquals(1L, occupancy[1]);
+        assertEquals(1L << 2, occupancy[2]);
+    }
+
+    @ParameterizedTest(name = "cell {0}")
+    @ValueSource(ints = {-1, 6, 63, 64, 1000, Integer.MAX_VALUE})
+    void contains_WhenCellIsNotOccupied_ReturnsFalse(int cell) {
+        // Given: the bitmap only spans the first word
+        TurbineLayout layout = new TurbineLayout(new int[] {1, 5, 10});
+
+        // When / Then
+        assertEquals(1, layout.getOccupancy().length);
+        assertFalse(layout.contains(cell));
+    }
+
+    @Test
+    void contains_WhenCellIsOccupied_ReturnsTrue() {
+        // Given
+        TurbineLayout layout = new TurbineLayout(new int[] {1, 64, 127});
+
+        // When / Then
+        assertTrue(layout.contains(1));
+        assertTrue(layout.contains(64));
+        assertTrue(layout.contains(127));
+        assertFalse(layout.contains(65));
+    }
+
+    @Test
+    void getOccupancy_WhenLayoutIsEmpty_IsEmpty() {
+        // Given
+        TurbineLayout layout = new TurbineLayout(new int[0]);
+
+        // When / Then
+        assertEquals(0, layout.getOccupancy().length);
+        assertEquals(0, layout.size());
+        assertFalse(layout.contains(0));
+    }
+}